@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.Printer;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link Template} that counts renders and once a threshold is reached replaces the wrapped {@link Template} with the
+ * form returned by an optimiser {@link Function}, such as {@link TemplateJvmCompiler#compile(Template)} on the JVM or
+ * {@link Templates#compile(Template)} under J2CL. Templates that are rarely rendered keep their smaller parsed form.
+ * The count is not synchronized, so concurrent renders may optimise slightly later. The render that reaches the
+ * threshold hands the optimiser to an executor, such as {@link java.util.concurrent.Executor#execute(Runnable)} on the
+ * JVM, and renders continue with the wrapped {@link Template} until the optimised form is published through a volatile
+ * field. If the optimiser fails or returns null the wrapped {@link Template} is published and never optimised again.
+ */
+final class AdaptiveTemplate implements Template {
+
+    static AdaptiveTemplate with(final Template template,
+                                 final int threshold,
+                                 final Function<Template, Template> optimiser,
+                                 final Consumer<Runnable> executor) {
+        Objects.requireNonNull(template, "template");
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Invalid threshold " + threshold + " < 0");
+        }
+        Objects.requireNonNull(optimiser, "optimiser");
+        Objects.requireNonNull(executor, "executor");
+
+        return new AdaptiveTemplate(
+            template,
+            threshold,
+            optimiser,
+            executor
+        );
+    }
+
+    private AdaptiveTemplate(final Template template,
+                             final int threshold,
+                             final Function<Template, Template> optimiser,
+                             final Consumer<Runnable> executor) {
+        this.template = template;
+        this.threshold = threshold;
+        this.optimiser = optimiser;
+        this.executor = executor;
+    }
+
+    @Override
+    public void render(final Printer printer,
+                       final TemplateContext context) {
+        Objects.requireNonNull(printer, "printer");
+        Objects.requireNonNull(context, "context");
+
+        Template current = this.optimised;
+
+        if (null == current) {
+            if (this.renders++ >= this.threshold) {
+                this.optimiseLater();
+            }
+
+            // an executor that runs immediately will have already published the optimised form
+            current = this.optimised;
+            if (null == current) {
+                current = this.template;
+            }
+        }
+
+        current.render(
+            printer,
+            context
+        );
+    }
+
+    /**
+     * Hands {@link #optimise()} to the executor once, later renders that also reached the threshold return immediately.
+     */
+    private void optimiseLater() {
+        final boolean schedule;
+
+        synchronized (this) {
+            schedule = false == this.scheduled;
+            this.scheduled = true;
+        }
+
+        if (schedule) {
+            try {
+                this.executor.accept(this::optimise);
+            } catch (final RuntimeException rejected) {
+                this.optimised = this.template;
+            }
+        }
+    }
+
+    /**
+     * Calls the optimiser and publishes its result, or the wrapped {@link Template} if it fails or returns null.
+     */
+    private void optimise() {
+        Template optimised;
+
+        try {
+            optimised = this.optimiser.apply(this.template);
+        } catch (final RuntimeException failed) {
+            optimised = null;
+        }
+
+        this.optimised = null != optimised ?
+            optimised :
+            this.template;
+    }
+
+    /**
+     * Returns true once the optimised form has replaced the wrapped {@link Template}.
+     */
+    // @VisibleForTesting
+    boolean isOptimised() {
+        return null != this.optimised;
+    }
+
+    private final int threshold;
+
+    private final Function<Template, Template> optimiser;
+
+    private final Consumer<Runnable> executor;
+
+    private int renders;
+
+    private boolean scheduled;
+
+    /**
+     * The optimised {@link Template}, null until the threshold is reached.
+     */
+    private volatile Template optimised;
+
+    @Override
+    public Set<TemplateValueName> templateValueNames() {
+        return this.template.templateValueNames();
+    }
+
+    // Value............................................................................................................
+
+    @Override
+    public Template value() {
+        return this.template;
+    }
+
+    private final Template template;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.template.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof AdaptiveTemplate && this.equals0((AdaptiveTemplate) other);
+    }
+
+    private boolean equals0(final AdaptiveTemplate other) {
+        return this.template.equals(other.template) &&
+            this.threshold == other.threshold &&
+            this.optimiser.equals(other.optimiser) &&
+            this.executor.equals(other.executor);
+    }
+
+    @Override
+    public String toString() {
+        return this.template.toString();
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        printer.println(this.getClass().getSimpleName() + " " + this.threshold);
+        printer.indent();
+        {
+            this.template.printTree(printer);
+        }
+        printer.outdent();
+    }
+}
@@ -19,11 +19,14 @@ package walkingkooka.template;
 
 import walkingkooka.text.LineEnding;
 import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.printer.Printer;
 import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.expression.ExpressionEvaluationContext;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -62,34 +65,108 @@ final class BasicTemplateContext implements TemplateContext {
     }
 
     /**
-     * Calls the provided parser and then asserts a '}' follows.
+     * A placeholder holding only a {@link TemplateValueName} becomes a {@link TemplateValueNameTemplate} without calling
+     * the expression parser. Otherwise calls the provided parser and then asserts a '}' follows.
+     * <br>
+     * {@link TemplateValueName#PART} allows '-' and '.', so a name holding either such as <code>${price-discount}</code>
+     * or <code>${a.b}</code> is always given to the expression parser, which may treat it as a subtraction or property.
      */
     @Override
     public Template parseTemplateExpression(final TextCursor text) {
         Objects.requireNonNull(text, "text");
 
-        final Template template = this.expressionParser.apply(text);
+        final Template template;
 
-        if (text.isEmpty()) {
-            throw new IllegalArgumentException("Incomplete expression");
+        final TextCursorSavePoint save = text.save();
+
+        Optional<TemplateValueName> name;
+        try {
+            name = TemplateValueName.parse(text);
+        } catch (final IllegalArgumentException invalid) {
+            name = Optional.empty(); // let the expression parser report the problem
+        }
+
+        if (name.isPresent() && isSimple(name.get()) && text.isNotEmpty() && TemplateContextParseTextCursor.BRACE_CLOSE == text.at()) {
+            text.next();
+
+            template = Templates.templateValueName(
+                name.get()
+            );
         } else {
-            final char c = text.at();
-            switch (c) {
-                case TemplateContextParseTextCursor.BRACE_CLOSE:
-                    text.next();
-                    break;
-                default:
-                    throw text.lineInfo()
-                        .invalidCharacterException()
-                        .get();
+            save.restore();
+
+            template = this.expressionParser.apply(text);
+
+            if (text.isEmpty()) {
+                throw new IllegalArgumentException("Incomplete expression");
+            } else {
+                final char c = text.at();
+                switch (c) {
+                    case TemplateContextParseTextCursor.BRACE_CLOSE:
+                        text.next();
+                        break;
+                    default:
+                        throw text.lineInfo()
+                            .invalidCharacterException()
+                            .get();
+                }
             }
         }
 
         return template;
     }
 
+    /**
+     * Names holding characters that an expression parser may treat as an operator are not simple.
+     */
+    private static boolean isSimple(final TemplateValueName name) {
+        final String value = name.value();
+        return -1 == value.indexOf('-') && -1 == value.indexOf('.');
+    }
+
     private final Function<TextCursor, Template> expressionParser;
 
+    /**
+     * Renders using a single {@link BasicTemplateContextCycleTemplateContext}, so all expressions share one scope.
+     */
+    @Override
+    public void parseTemplateAndRender(final TextCursor text,
+                                       final Printer printer) {
+        Objects.requireNonNull(text, "text");
+        Objects.requireNonNull(printer, "printer");
+
+        this.parseTemplate(text)
+            .render(
+                printer,
+                this.renderContext()
+            );
+    }
+
+    /**
+     * Renders using a single {@link BasicTemplateContextCycleTemplateContext}, so all expressions share one scope.
+     */
+    @Override
+    public String parseTemplateAndRenderToString(final String text,
+                                                 final LineEnding lineEnding) {
+        Objects.requireNonNull(text, "text");
+        Objects.requireNonNull(lineEnding, "lineEnding");
+
+        return this.parseTemplateString(text)
+            .renderToString(
+                lineEnding,
+                this.renderContext()
+            );
+    }
+
+    /**
+     * Each render gets its own {@link BasicTemplateContextCycleTemplateContext}, so all expressions and placeholders in
+     * one render share one scope and the values it has already resolved.
+     */
+    @Override
+    public TemplateContext renderContext() {
+        return BasicTemplateContextCycleTemplateContext.with(this);
+    }
+
     @Override
     public Template templateCollection(final List<Template> templates) {
         return Templates.collection(templates);
@@ -115,6 +192,26 @@ final class BasicTemplateContext implements TemplateContext {
             .templateValue(name);
     }
 
+    @Override
+    public Object templateValueAsObject(final TemplateValueName name) {
+        return BasicTemplateContextCycleTemplateContext.with(this)
+            .templateValueAsObject(name);
+    }
+
+    /**
+     * Returns all the sub-templates reachable from the name, which identify the rendered value without rendering.
+     * {@link BasicTemplateContextCycleTemplateContext} memoises the key for each name within a render.
+     */
+    @Override
+    public Object templateValueKey(final TemplateValueName name) {
+        return BasicTemplateContextTemplateValueKey.with(
+            TemplateValueNameGraph.with(
+                Templates.templateValueName(name),
+                this.nameToTemplate
+            ).templates()
+        );
+    }
+
     // @see BasicTemplateContextCycleTemplateContext
     final Function<TemplateValueName, Template> nameToTemplate;
 
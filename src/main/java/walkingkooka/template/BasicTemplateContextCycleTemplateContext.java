@@ -17,13 +17,14 @@
 
 package walkingkooka.template;
 
+import walkingkooka.collect.map.Maps;
 import walkingkooka.text.cursor.TextCursor;
 import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.expression.ExpressionEvaluationContext;
-import walkingkooka.tree.expression.ExpressionReference;
 
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -56,31 +57,60 @@ final class BasicTemplateContextCycleTemplateContext implements TemplateContext
 
     @Override
     public String evaluateAsString(final Expression expression) {
-        final ExpressionEvaluationContext context = this.context.expressionEvaluationContext;
-
-        return context.convertOrFail(
-            context.enterScope(this::scopedExpressionReference)
-                .evaluateExpression(expression),
-            String.class
+        return TemplateContextExpressionEvaluation.evaluateAsString(
+            expression,
+            this.scoped()
         );
     }
 
-    private Optional<Optional<Object>> scopedExpressionReference(final ExpressionReference reference) {
-        Optional<Optional<Object>> result;
+    /**
+     * Lazily enters a scope that resolves {@link TemplateValueName} references, reused for every expression evaluated
+     * by this context.
+     */
+    private ExpressionEvaluationContext scoped() {
+        ExpressionEvaluationContext scoped = this.scoped;
+        if (null == scoped) {
+            scoped = TemplateContextExpressionEvaluation.enterScope(
+                this.context.expressionEvaluationContext,
+                this::resolve
+            );
+            this.scoped = scoped;
+        }
+        return scoped;
+    }
+
+    private ExpressionEvaluationContext scoped;
+
+    /**
+     * {@link TemplateValueName} references are rendered once and the result reused for later references to the
+     * same name within this context.
+     */
+    private Object resolve(final TemplateValueName name) {
+        Map<TemplateValueName, Optional<Object>> resolved = this.resolved;
+        if (null == resolved) {
+            resolved = Maps.hash();
+            this.resolved = resolved;
+        }
 
-        if (reference instanceof TemplateValueName) {
-            result = Optional.of(
-                Optional.of(
-                    this.templateValue((TemplateValueName) reference)
-                )
+        Optional<Object> value = resolved.get(name);
+        if (null == value) {
+            value = Optional.ofNullable(
+                this.templateValueAsObject(name)
+            );
+            resolved.put(
+                name,
+                value
             );
-        } else {
-            result = this.context.expressionEvaluationContext.reference(reference);
         }
 
-        return result;
+        return value.orElse(null);
     }
 
+    /**
+     * Lazily created cache of resolved {@link TemplateValueName} references.
+     */
+    private Map<TemplateValueName, Optional<Object>> resolved;
+
     @Override
     public Template templateCollection(final List<Template> templates) {
         return this.context.templateCollection(templates);
@@ -93,6 +123,68 @@ final class BasicTemplateContextCycleTemplateContext implements TemplateContext
 
     @Override
     public String templateValue(final TemplateValueName name) {
+        final Template template = this.enter(name);
+
+        final String rendered = template.renderToString(
+            this.context.lineEnding,
+            this
+        );
+
+        this.cycles.remove(name);
+
+        return rendered;
+    }
+
+    @Override
+    public Object templateValueAsObject(final TemplateValueName name) {
+        final Template template = this.enter(name);
+
+        final Object value = TemplateContextExpressionEvaluation.templateValueAsObject(
+            template,
+            () -> template.renderToString(
+                this.context.lineEnding,
+                this
+            ),
+            this.scoped()
+        );
+
+        this.cycles.remove(name);
+
+        return value;
+    }
+
+    /**
+     * The key for each name is built once per render, as the same name may be referenced by many cached fragments.
+     */
+    @Override
+    public Object templateValueKey(final TemplateValueName name) {
+        Map<TemplateValueName, Object> keys = this.keys;
+        if (null == keys) {
+            keys = Maps.hash();
+            this.keys = keys;
+        }
+
+        Object key = keys.get(name);
+        if (null == key) {
+            key = this.context.templateValueKey(name);
+            keys.put(
+                name,
+                key
+            );
+        }
+
+        return key;
+    }
+
+    /**
+     * Lazily created cache of {@link #templateValueKey(TemplateValueName)}.
+     */
+    private Map<TemplateValueName, Object> keys;
+
+    /**
+     * Adds the name to the names being resolved, failing if it is already present, and returns its {@link Template}.
+     */
+    private Template enter(final TemplateValueName name) {
         Objects.requireNonNull(name, "name");
 
         final Set<TemplateValueName> cycles = this.cycles;
@@ -111,20 +203,12 @@ final class BasicTemplateContextCycleTemplateContext implements TemplateContext
             );
         }
 
-        final BasicTemplateContext context = this.context;
-        final Template template = context.nameToTemplate.apply(name);
+        final Template template = this.context.nameToTemplate.apply(name);
         if (null == template) {
             throw new IllegalStateException("Missing template for " + name);
         }
 
-        final String rendered = template.renderToString(
-            context.lineEnding,
-            this
-        );
-
-        cycles.remove(name);
-
-        return rendered;
+        return template;
     }
 
     // @see BasicTemplateContext
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import java.util.Map;
+
+/**
+ * The {@link TemplateContext#templateValueKey(TemplateValueName)} returned by {@link BasicTemplateContext}, holding the
+ * sub-templates reachable from a {@link TemplateValueName}. The hash is computed once, so the key may be compared many
+ * times by a {@link TemplateRenderCache} without walking the templates again.
+ */
+final class BasicTemplateContextTemplateValueKey {
+
+    static BasicTemplateContextTemplateValueKey with(final Map<TemplateValueName, Template> templates) {
+        return new BasicTemplateContextTemplateValueKey(templates);
+    }
+
+    private BasicTemplateContextTemplateValueKey(final Map<TemplateValueName, Template> templates) {
+        this.templates = templates;
+        this.hashCode = templates.hashCode();
+    }
+
+    private final Map<TemplateValueName, Template> templates;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    private final int hashCode;
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof BasicTemplateContextTemplateValueKey && this.equals0((BasicTemplateContextTemplateValueKey) other);
+    }
+
+    private boolean equals0(final BasicTemplateContextTemplateValueKey other) {
+        return this.hashCode == other.hashCode &&
+            this.templates.equals(other.templates);
+    }
+
+    @Override
+    public String toString() {
+        return this.templates.toString();
+    }
+}
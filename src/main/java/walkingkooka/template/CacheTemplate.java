@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.Printer;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Template} that marks an expensive sub-tree as cacheable, keeping its rendered text in a shared
+ * {@link TemplateRenderCache} keyed by the {@link TemplateContext#templateValueKey(TemplateValueName)} of the sub-tree's
+ * own {@link #templateValueNames()}, so a hit does not resolve any values. The sub-tree should only depend on those
+ * values, eg an {@link ExpressionTemplate} whose functions are pure.
+ */
+final class CacheTemplate implements Template {
+
+    static CacheTemplate with(final Template template,
+                              final TemplateRenderCache cache) {
+        return new CacheTemplate(
+            Objects.requireNonNull(template, "template"),
+            Objects.requireNonNull(cache, "cache")
+        );
+    }
+
+    private CacheTemplate(final Template template,
+                          final TemplateRenderCache cache) {
+        this.template = template;
+        this.cache = cache;
+        this.templateValueNames = TemplateValueNameSet.with(
+            template.templateValueNames()
+        );
+    }
+
+    @Override
+    public void render(final Printer printer,
+                       final TemplateContext context) {
+        Objects.requireNonNull(printer, "printer");
+        Objects.requireNonNull(context, "context");
+
+        printer.print(
+            this.cache.renderToString(
+                this.template,
+                this.templateValueNames,
+                printer.lineEnding(),
+                context
+            )
+        );
+    }
+
+    private final TemplateRenderCache cache;
+
+    @Override
+    public Set<TemplateValueName> templateValueNames() {
+        return this.templateValueNames;
+    }
+
+    private final TemplateValueNameSet templateValueNames;
+
+    // Value............................................................................................................
+
+    @Override
+    public Template value() {
+        return this.template;
+    }
+
+    private final Template template;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.template.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof CacheTemplate && this.equals0((CacheTemplate) other);
+    }
+
+    private boolean equals0(final CacheTemplate other) {
+        return this.template.equals(other.template) &&
+            this.cache == other.cache;
+    }
+
+    @Override
+    public String toString() {
+        return this.template.toString();
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        printer.println(this.getClass().getSimpleName());
+        printer.indent();
+        {
+            this.template.printTree(printer);
+        }
+        printer.outdent();
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.Printer;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Template} that flattens a tree once into arrays, removing nested {@link TemplateCollection} and
+ * {@link StringTemplate} nodes. {@link TemplateValueNameTemplate} become direct
+ * {@link TemplateContext#templateValue(TemplateValueName)} calls, and any other {@link Template} such as an
+ * {@link ExpressionTemplate} is kept and rendered as a slot. This is a minor interpretive pass that also translates
+ * with J2CL, on the JVM {@link TemplateJvmCompiler} generates a class instead, falling back to this form.
+ */
+final class CompiledTemplate implements Template {
+
+    static CompiledTemplate with(final Template template) {
+        Objects.requireNonNull(template, "template");
+
+        final List<String> literals = Lists.array();
+        final List<TemplateValueName> names = Lists.array();
+        final List<Template> templates = Lists.array();
+        final StringBuilder literal = new StringBuilder();
+
+        flatten(
+            template,
+            literal,
+            literals,
+            names,
+            templates
+        );
+        literals.add(literal.toString());
+
+        return new CompiledTemplate(
+            template,
+            literals.toArray(new String[0]),
+            names.toArray(new TemplateValueName[0]),
+            templates.toArray(new Template[0])
+        );
+    }
+
+    private static void flatten(final Template template,
+                                final StringBuilder literal,
+                                final List<String> literals,
+                                final List<TemplateValueName> names,
+                                final List<Template> templates) {
+        if (template instanceof StringTemplate) {
+            literal.append(
+                ((StringTemplate) template).value()
+            );
+        } else if (template instanceof TemplateCollection) {
+            for (final Template child : ((TemplateCollection) template).value()) {
+                flatten(
+                    child,
+                    literal,
+                    literals,
+                    names,
+                    templates
+                );
+            }
+        } else if (template instanceof CompiledTemplate) {
+            flatten(
+                ((CompiledTemplate) template).template,
+                literal,
+                literals,
+                names,
+                templates
+            );
+        } else {
+            literals.add(literal.toString());
+            literal.setLength(0);
+
+            if (template instanceof TemplateValueNameTemplate) {
+                names.add(
+                    ((TemplateValueNameTemplate) template).value()
+                );
+                templates.add(null);
+            } else {
+                names.add(null);
+                templates.add(template);
+            }
+        }
+    }
+
+    private CompiledTemplate(final Template template,
+                             final String[] literals,
+                             final TemplateValueName[] names,
+                             final Template[] templates) {
+        this.template = template;
+        this.literals = literals;
+        this.names = names;
+        this.templates = templates;
+    }
+
+    @Override
+    public void render(final Printer printer,
+                       final TemplateContext context) {
+        Objects.requireNonNull(printer, "printer");
+        Objects.requireNonNull(context, "context");
+
+        final String[] literals = this.literals;
+        final TemplateValueName[] names = this.names;
+        final Template[] templates = this.templates;
+        final int count = names.length;
+        final TemplateContext renderContext = context.renderContext();
+
+        print(
+            literals[0],
+            printer
+        );
+
+        for (int i = 0; i < count; i++) {
+            final TemplateValueName name = names[i];
+            if (null != name) {
+                printer.print(
+                    renderContext.templateValue(name)
+                );
+            } else {
+                templates[i].render(
+                    printer,
+                    renderContext
+                );
+            }
+
+            print(
+                literals[i + 1],
+                printer
+            );
+        }
+    }
+
+    private static void print(final String literal,
+                              final Printer printer) {
+        if (false == literal.isEmpty()) {
+            printer.print(literal);
+        }
+    }
+
+    /**
+     * Literals before, between and after each slot, always one more than the number of slots.
+     */
+    private final String[] literals;
+
+    /**
+     * The {@link TemplateValueName} for each slot, or null when the slot is a {@link Template}.
+     */
+    private final TemplateValueName[] names;
+
+    /**
+     * The {@link Template} for each slot that is not a {@link TemplateValueName}.
+     */
+    private final Template[] templates;
+
+    @Override
+    public Set<TemplateValueName> templateValueNames() {
+        return this.template.templateValueNames();
+    }
+
+    // Value............................................................................................................
+
+    @Override
+    public Template value() {
+        return this.template;
+    }
+
+    private final Template template;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.template.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof CompiledTemplate && this.equals0((CompiledTemplate) other);
+    }
+
+    private boolean equals0(final CompiledTemplate other) {
+        return this.template.equals(other.template);
+    }
+
+    @Override
+    public String toString() {
+        return this.template.toString();
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        printer.println(this.getClass().getSimpleName());
+        printer.indent();
+        {
+            this.template.printTree(printer);
+        }
+        printer.outdent();
+    }
+}
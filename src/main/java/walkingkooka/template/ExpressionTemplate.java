@@ -17,12 +17,15 @@
 
 package walkingkooka.template;
 
-import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.Printer;
 import walkingkooka.text.printer.TreePrintable;
 import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionReference;
+import walkingkooka.tree.expression.ReferenceExpression;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -39,6 +42,33 @@ final class ExpressionTemplate implements Template {
 
     private ExpressionTemplate(final Expression expression) {
         this.expression = expression;
+
+        final List<TemplateValueName> templateValueNames = Lists.array();
+        collectTemplateValueNames(
+            expression,
+            templateValueNames
+        );
+        this.templateValueNames = TemplateValueNameSet.with(templateValueNames);
+    }
+
+    /**
+     * Walks the {@link Expression} gathering any {@link TemplateValueName} references.
+     */
+    private static void collectTemplateValueNames(final Expression expression,
+                                                  final List<TemplateValueName> templateValueNames) {
+        if (expression instanceof ReferenceExpression) {
+            final ExpressionReference reference = ((ReferenceExpression) expression).value();
+            if (reference instanceof TemplateValueName) {
+                templateValueNames.add((TemplateValueName) reference);
+            }
+        }
+
+        for (final Expression child : expression.children()) {
+            collectTemplateValueNames(
+                child,
+                templateValueNames
+            );
+        }
     }
 
     @Override
@@ -54,9 +84,11 @@ final class ExpressionTemplate implements Template {
 
     @Override
     public Set<TemplateValueName> templateValueNames() {
-        return Sets.empty();
+        return this.templateValueNames;
     }
 
+    private final TemplateValueNameSet templateValueNames;
+
     // Value............................................................................................................
 
     @Override
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.map.Maps;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link TemplateCompileCacheStore} that keeps bytes in memory, useful when templates are shipped pre-compiled
+ * rather than read from disk.
+ */
+final class MemoryTemplateCompileCacheStore implements TemplateCompileCacheStore {
+
+    static MemoryTemplateCompileCacheStore empty() {
+        return new MemoryTemplateCompileCacheStore();
+    }
+
+    private MemoryTemplateCompileCacheStore() {
+        super();
+    }
+
+    @Override
+    public synchronized Optional<InputStream> load(final long fingerprint) {
+        final byte[] bytes = this.fingerprintToBytes.get(fingerprint);
+
+        return Optional.ofNullable(
+            null != bytes ?
+                new ByteArrayInputStream(bytes) :
+                null
+        );
+    }
+
+    @Override
+    public synchronized void save(final long fingerprint,
+                                  final byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+
+        this.fingerprintToBytes.put(
+            fingerprint,
+            bytes
+        );
+    }
+
+    private final Map<Long, byte[]> fingerprintToBytes = Maps.hash();
+
+    @Override
+    public synchronized String toString() {
+        return this.fingerprintToBytes.size() + " template(s)";
+    }
+}
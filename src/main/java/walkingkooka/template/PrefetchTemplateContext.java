@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionEvaluationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A render only {@link TemplateContext} that gathers all {@link TemplateValueName} for a {@link Template} up front,
+ * including those reached through sub-templates returned by a nameToTemplate {@link Function}, and then loads all
+ * values with a single call to a bulk loader. Cycles are detected once by {@link TemplateValueNameGraph}, so
+ * rendering needs no cycle bookkeeping. Rendering then only reads from the loaded {@link Map}, and each sub-template
+ * is rendered once for the life of this context.
+ * <br>
+ * {@link Expression expressions} are evaluated by the given {@link ExpressionEvaluationContext}, with any
+ * {@link TemplateValueName} references resolved from the sub-templates and loaded values.
+ */
+final class PrefetchTemplateContext implements TemplateContext {
+
+    static PrefetchTemplateContext with(final Template template,
+                                        final Function<TemplateValueName, Template> nameToTemplate,
+                                        final Function<Set<TemplateValueName>, Map<TemplateValueName, String>> loader,
+                                        final LineEnding lineEnding,
+                                        final ExpressionEvaluationContext expressionEvaluationContext) {
+        Objects.requireNonNull(template, "template");
+        Objects.requireNonNull(nameToTemplate, "nameToTemplate");
+        Objects.requireNonNull(loader, "loader");
+        Objects.requireNonNull(lineEnding, "lineEnding");
+        Objects.requireNonNull(expressionEvaluationContext, "expressionEvaluationContext");
+
+        final TemplateValueNameGraph graph = TemplateValueNameGraph.with(
+            template,
+            nameToTemplate
+        );
+        graph.failIfCycles();
+
+        final Set<TemplateValueName> names = graph.values();
+
+        final Map<TemplateValueName, String> values = loader.apply(names);
+        if (null == values) {
+            throw new IllegalStateException("Loader returned null values for " + names);
+        }
+
+        return new PrefetchTemplateContext(
+            graph.templates(),
+            values,
+            lineEnding,
+            expressionEvaluationContext
+        );
+    }
+
+    private PrefetchTemplateContext(final Map<TemplateValueName, Template> templates,
+                                    final Map<TemplateValueName, String> values,
+                                    final LineEnding lineEnding,
+                                    final ExpressionEvaluationContext expressionEvaluationContext) {
+        this.templates = templates;
+        this.values = values;
+        this.lineEnding = lineEnding;
+        this.expressionEvaluationContext = TemplateContextExpressionEvaluation.enterScope(
+            expressionEvaluationContext,
+            this::templateValueAsObject
+        );
+    }
+
+    @Override
+    public Template parseTemplate(final TextCursor text) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Template parseTemplateExpression(final TextCursor text) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Template templateCollection(final List<Template> templates) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Template templateText(final String text) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String evaluateAsString(final Expression expression) {
+        return TemplateContextExpressionEvaluation.evaluateAsString(
+            expression,
+            this.expressionEvaluationContext
+        );
+    }
+
+    /**
+     * Sub-templates are rendered once and the result reused for later references, the graph has already proven
+     * they are acyclic.
+     */
+    @Override
+    public String templateValue(final TemplateValueName name) {
+        Objects.requireNonNull(name, "name");
+
+        String value = this.rendered.get(name);
+        if (null == value) {
+            final Template template = this.templates.get(name);
+            if (null != template) {
+                value = template.renderToString(
+                    this.lineEnding,
+                    this
+                );
+                this.rendered.put(
+                    name,
+                    value
+                );
+            } else {
+                value = this.values.get(name);
+                if (null == value) {
+                    throw new IllegalArgumentException("Missing value for " + name);
+                }
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * A sub-template that is an {@link ExpressionTemplate} returns the value of its expression without converting it
+     * to a {@link String}, which is also evaluated once.
+     */
+    @Override
+    public Object templateValueAsObject(final TemplateValueName name) {
+        Objects.requireNonNull(name, "name");
+
+        final Template template = this.templates.get(name);
+
+        final Object value;
+        if (template instanceof ExpressionTemplate) {
+            Optional<Object> evaluated = this.evaluated.get(name);
+            if (null == evaluated) {
+                evaluated = Optional.ofNullable(
+                    TemplateContextExpressionEvaluation.templateValueAsObject(
+                        template,
+                        () -> this.templateValue(name),
+                        this.expressionEvaluationContext
+                    )
+                );
+                this.evaluated.put(
+                    name,
+                    evaluated
+                );
+            }
+            value = evaluated.orElse(null);
+        } else {
+            value = this.templateValue(name);
+        }
+
+        return value;
+    }
+
+    /**
+     * Rendered sub-templates, this context may be shared by many threads.
+     */
+    private final Map<TemplateValueName, String> rendered = new ConcurrentHashMap<>();
+
+    /**
+     * Evaluated {@link ExpressionTemplate} sub-templates.
+     */
+    private final Map<TemplateValueName, Optional<Object>> evaluated = new ConcurrentHashMap<>();
+
+    /**
+     * Sub-templates found while gathering names, these were checked for cycles.
+     */
+    private final Map<TemplateValueName, Template> templates;
+
+    /**
+     * The values returned by the bulk loader.
+     */
+    private final Map<TemplateValueName, String> values;
+
+    private final LineEnding lineEnding;
+
+    /**
+     * A scope that resolves {@link TemplateValueName} references using this context.
+     */
+    private final ExpressionEvaluationContext expressionEvaluationContext;
+
+    @Override
+    public String toString() {
+        return this.values.toString();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link Function} that remembers each value returned by the wrapped {@link Function} in the given {@link Map}, so
+ * that a {@link TemplateValueName} referenced many times is only fetched once. Values are only fetched when a
+ * {@link Template} actually references them. The {@link Map} controls the lifetime and eviction of values, eg a
+ * {@link java.util.LinkedHashMap} overriding {@link java.util.LinkedHashMap#removeEldestEntry(Map.Entry)} may be used
+ * to bound a long-lived cache. Note this is not thread safe unless the {@link Map} is.
+ */
+final class RenderOnlyTemplateContextCacheFunction implements Function<TemplateValueName, String> {
+
+    static RenderOnlyTemplateContextCacheFunction with(final Function<TemplateValueName, String> templateValues,
+                                                       final Map<TemplateValueName, String> cache) {
+        return new RenderOnlyTemplateContextCacheFunction(
+            Objects.requireNonNull(templateValues, "templateValues"),
+            Objects.requireNonNull(cache, "cache")
+        );
+    }
+
+    private RenderOnlyTemplateContextCacheFunction(final Function<TemplateValueName, String> templateValues,
+                                                   final Map<TemplateValueName, String> cache) {
+        this.templateValues = templateValues;
+        this.cache = cache;
+    }
+
+    @Override
+    public String apply(final TemplateValueName name) {
+        final Map<TemplateValueName, String> cache = this.cache;
+
+        String value = cache.get(name);
+        if (null == value) {
+            value = this.templateValues.apply(name);
+
+            // null values are not cached and will be fetched again
+            if (null != value) {
+                cache.put(
+                    name,
+                    value
+                );
+            }
+        }
+
+        return value;
+    }
+
+    private final Function<TemplateValueName, String> templateValues;
+
+    private final Map<TemplateValueName, String> cache;
+
+    @Override
+    public String toString() {
+        return this.templateValues.toString();
+    }
+}
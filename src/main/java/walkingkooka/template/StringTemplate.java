@@ -17,7 +17,6 @@
 
 package walkingkooka.template;
 
-import walkingkooka.collect.set.Sets;
 import walkingkooka.text.CharSequences;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.Printer;
@@ -59,7 +58,7 @@ final class StringTemplate implements Template {
 
     @Override
     public Set<TemplateValueName> templateValueNames() {
-        return Sets.empty();
+        return TemplateValueNameSet.EMPTY;
     }
 
     // Value............................................................................................................
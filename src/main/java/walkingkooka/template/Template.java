@@ -68,4 +68,14 @@ public interface Template extends Value<Object>,
      * Returns all the {@link TemplateValueName} in this template.
      */
     Set<TemplateValueName> templateValueNames();
+
+    /**
+     * Returns a {@link TemplateValueNamesValidator} which may be kept and used to quickly verify values are present for
+     * all {@link #templateValueNames()}.
+     */
+    default TemplateValueNamesValidator templateValueNamesValidator() {
+        return TemplateValueNamesValidator.with(
+            this.templateValueNames()
+        );
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.template.url.UrlPathTemplate;
+import walkingkooka.tree.expression.Expression;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Encodes a {@link Template} tree into a compact versioned binary form, and decodes it again without parsing template
+ * text. Literals, {@link TemplateValueName names} and encoded {@link Expression expressions} are written once to a
+ * string table and referenced by index. {@link Expression expressions} are encoded and decoded by the given functions,
+ * as they are open ended and may need their own context.
+ * <pre>
+ * magic        0x54 0x50
+ * version      1
+ * string count varint
+ * strings      varint length followed by each UTF-16 code unit as a varint
+ * root         tag followed by its payload
+ * </pre>
+ * Only {@link Template} returned by {@link Templates} factory methods and {@link UrlPathTemplate} are supported.
+ */
+public final class TemplateBinaryCodec {
+
+    public static TemplateBinaryCodec with(final Function<Expression, String> expressionEncoder,
+                                           final Function<String, Expression> expressionDecoder) {
+        return new TemplateBinaryCodec(
+            Objects.requireNonNull(expressionEncoder, "expressionEncoder"),
+            Objects.requireNonNull(expressionDecoder, "expressionDecoder")
+        );
+    }
+
+    private TemplateBinaryCodec(final Function<Expression, String> expressionEncoder,
+                                final Function<String, Expression> expressionDecoder) {
+        this.expressionEncoder = expressionEncoder;
+        this.expressionDecoder = expressionDecoder;
+    }
+
+    /**
+     * Encodes the given {@link Template} into bytes.
+     */
+    public byte[] encode(final Template template) {
+        Objects.requireNonNull(template, "template");
+
+        return TemplateBinaryCodecWriter.with(this.expressionEncoder)
+            .write(template);
+    }
+
+    /**
+     * Decodes bytes previously produced by {@link #encode(Template)}.
+     */
+    public Template decode(final byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+
+        return this.decode(
+            new ByteArrayInputStream(bytes)
+        );
+    }
+
+    /**
+     * Decodes bytes previously produced by {@link #encode(Template)} from an {@link InputStream}, failing if the
+     * stream has any bytes after the {@link Template}. The stream must report its remaining bytes from
+     * {@link InputStream#available()}, which is used to reject corrupt lengths. The stream is not closed.
+     */
+    public Template decode(final InputStream input) {
+        Objects.requireNonNull(input, "input");
+
+        return TemplateBinaryCodecReader.with(
+            input,
+            this.expressionDecoder
+        ).read();
+    }
+
+    private final Function<Expression, String> expressionEncoder;
+
+    private final Function<String, Expression> expressionDecoder;
+
+    // format...........................................................................................................
+
+    final static byte MAGIC0 = 0x54;
+
+    final static byte MAGIC1 = 0x50;
+
+    final static byte VERSION = 1;
+
+    final static byte STRING = 0;
+
+    final static byte TEMPLATE_VALUE_NAME = 1;
+
+    final static byte EXPRESSION = 2;
+
+    final static byte COLLECTION = 3;
+
+    final static byte URL_PATH = 4;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.expressionEncoder + " " + this.expressionDecoder;
+    }
+}
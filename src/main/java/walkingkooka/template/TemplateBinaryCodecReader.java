@@ -0,0 +1,223 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.template.url.UrlPathTemplate;
+import walkingkooka.tree.expression.Expression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reads bytes in the format described by {@link TemplateBinaryCodec} back into a {@link Template} tree. Bytes are
+ * read one at a time from an {@link InputStream}, so a memory-mapped file may be decoded without first being copied.
+ * String counts and lengths are checked against {@link InputStream#available()} before anything is allocated.
+ */
+final class TemplateBinaryCodecReader {
+
+    static TemplateBinaryCodecReader with(final InputStream input,
+                                          final Function<String, Expression> expressionDecoder) {
+        return new TemplateBinaryCodecReader(
+            input,
+            expressionDecoder
+        );
+    }
+
+    private TemplateBinaryCodecReader(final InputStream input,
+                                      final Function<String, Expression> expressionDecoder) {
+        this.input = input;
+        this.expressionDecoder = expressionDecoder;
+    }
+
+    Template read() {
+        if (this.readByte() != TemplateBinaryCodec.MAGIC0 || this.readByte() != TemplateBinaryCodec.MAGIC1) {
+            throw new IllegalArgumentException("Invalid template bytes, missing magic");
+        }
+
+        final byte version = this.readByte();
+        if (TemplateBinaryCodec.VERSION != version) {
+            throw new IllegalArgumentException("Unsupported template bytes version " + version);
+        }
+
+        final int count = this.readLimit("string count");
+        final String[] strings = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            final int length = this.readLimit("string length");
+            final char[] chars = new char[length];
+
+            for (int j = 0; j < length; j++) {
+                chars[j] = (char) this.readVarint();
+            }
+
+            strings[i] = new String(chars);
+        }
+        this.strings = strings;
+
+        final Template template = this.template();
+
+        if (-1 != this.read()) {
+            throw new IllegalArgumentException("Invalid template bytes, unexpected bytes at " + this.position);
+        }
+
+        return template;
+    }
+
+    private Template template() {
+        final Template template;
+
+        final byte tag = this.readByte();
+        switch (tag) {
+            case TemplateBinaryCodec.STRING:
+                template = Templates.string(
+                    this.readString()
+                );
+                break;
+            case TemplateBinaryCodec.TEMPLATE_VALUE_NAME:
+                template = Templates.templateValueName(
+                    TemplateValueName.with(
+                        this.readString()
+                    )
+                );
+                break;
+            case TemplateBinaryCodec.EXPRESSION:
+                template = Templates.expression(
+                    this.expressionDecoder.apply(
+                        this.readString()
+                    )
+                );
+                break;
+            case TemplateBinaryCodec.COLLECTION:
+                final int count = this.readVarint();
+                final List<Template> templates = Lists.array();
+
+                for (int i = 0; i < count; i++) {
+                    templates.add(
+                        this.template()
+                    );
+                }
+
+                template = Templates.collection(templates);
+                break;
+            case TemplateBinaryCodec.URL_PATH:
+                template = UrlPathTemplate.parse(
+                    this.readString()
+                );
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid template bytes, unknown tag " + tag + " at " + (this.position - 1));
+        }
+
+        return template;
+    }
+
+    private final Function<String, Expression> expressionDecoder;
+
+    private String readString() {
+        final int index = this.readVarint();
+        final String[] strings = this.strings;
+
+        if (index >= strings.length) {
+            throw new IllegalArgumentException("Invalid template bytes, unknown string " + index);
+        }
+
+        return strings[index];
+    }
+
+    private String[] strings;
+
+    /**
+     * Reads a varint that is a count of items each encoded with at least one byte, failing if it is greater than the
+     * bytes remaining, so a corrupt count is never used to allocate an array.
+     */
+    private int readLimit(final String label) {
+        final int value = this.readVarint();
+        final int remaining = this.available();
+
+        if (value > remaining) {
+            throw new IllegalArgumentException("Invalid template bytes, " + label + " " + value + " exceeds remaining " + remaining + " at " + this.position);
+        }
+
+        return value;
+    }
+
+    private int readVarint() {
+        int value = 0;
+        int shift = 0;
+
+        for (; ; ) {
+            final byte b = this.readByte();
+            value |= (b & 0x7f) << shift;
+
+            if ((b & 0x80) == 0) {
+                break;
+            }
+
+            shift += 7;
+            if (shift > 28) {
+                throw new IllegalArgumentException("Invalid template bytes, varint too long at " + this.position);
+            }
+        }
+
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid template bytes, negative varint at " + this.position);
+        }
+
+        return value;
+    }
+
+    private byte readByte() {
+        final int position = this.position;
+
+        final int b = this.read();
+        if (-1 == b) {
+            throw new IllegalArgumentException("Invalid template bytes, truncated at " + position);
+        }
+
+        this.position = position + 1;
+        return (byte) b;
+    }
+
+    private int read() {
+        try {
+            return this.input.read();
+        } catch (final IOException cause) {
+            throw new IllegalArgumentException("Invalid template bytes, " + cause.getMessage() + " at " + this.position, cause);
+        }
+    }
+
+    private int available() {
+        try {
+            return this.input.available();
+        } catch (final IOException cause) {
+            throw new IllegalArgumentException("Invalid template bytes, " + cause.getMessage() + " at " + this.position, cause);
+        }
+    }
+
+    private final InputStream input;
+
+    private int position;
+
+    @Override
+    public String toString() {
+        return String.valueOf(this.position);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.template.url.UrlPathTemplate;
+import walkingkooka.tree.expression.Expression;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Writes a {@link Template} tree in the format described by {@link TemplateBinaryCodec}. Nodes are written to a body
+ * while the string table is built, and the header, table and body are then joined.
+ */
+final class TemplateBinaryCodecWriter {
+
+    static TemplateBinaryCodecWriter with(final Function<Expression, String> expressionEncoder) {
+        return new TemplateBinaryCodecWriter(expressionEncoder);
+    }
+
+    private TemplateBinaryCodecWriter(final Function<Expression, String> expressionEncoder) {
+        this.expressionEncoder = expressionEncoder;
+    }
+
+    byte[] write(final Template template) {
+        this.template(template);
+
+        final byte[] body = this.bytes;
+        final int bodyLength = this.length;
+
+        this.bytes = new byte[bodyLength + 64];
+        this.length = 0;
+
+        this.writeByte(TemplateBinaryCodec.MAGIC0);
+        this.writeByte(TemplateBinaryCodec.MAGIC1);
+        this.writeByte(TemplateBinaryCodec.VERSION);
+
+        final List<String> strings = this.strings;
+        this.writeVarint(strings.size());
+
+        for (final String string : strings) {
+            final int stringLength = string.length();
+            this.writeVarint(stringLength);
+
+            for (int i = 0; i < stringLength; i++) {
+                this.writeVarint(
+                    string.charAt(i)
+                );
+            }
+        }
+
+        this.ensureCapacity(bodyLength);
+        System.arraycopy(
+            body,
+            0,
+            this.bytes,
+            this.length,
+            bodyLength
+        );
+        this.length += bodyLength;
+
+        final byte[] result = new byte[this.length];
+        System.arraycopy(
+            this.bytes,
+            0,
+            result,
+            0,
+            this.length
+        );
+        return result;
+    }
+
+    private void template(final Template template) {
+        if (template instanceof StringTemplate) {
+            this.writeByte(TemplateBinaryCodec.STRING);
+            this.writeString(
+                ((StringTemplate) template).value()
+            );
+        } else if (template instanceof TemplateValueNameTemplate) {
+            this.writeByte(TemplateBinaryCodec.TEMPLATE_VALUE_NAME);
+            this.writeString(
+                ((TemplateValueNameTemplate) template).value()
+                    .value()
+            );
+        } else if (template instanceof ExpressionTemplate) {
+            this.writeByte(TemplateBinaryCodec.EXPRESSION);
+            this.writeString(
+                this.expressionEncoder.apply(
+                    ((ExpressionTemplate) template).value()
+                )
+            );
+        } else if (template instanceof TemplateCollection) {
+            final List<Template> templates = ((TemplateCollection) template).value();
+
+            this.writeByte(TemplateBinaryCodec.COLLECTION);
+            this.writeVarint(templates.size());
+
+            for (final Template child : templates) {
+                this.template(child);
+            }
+        } else if (template instanceof UrlPathTemplate) {
+            this.writeByte(TemplateBinaryCodec.URL_PATH);
+            this.writeString(
+                template.toString()
+            );
+        } else {
+            throw new IllegalArgumentException("Unsupported template " + template.getClass().getName());
+        }
+    }
+
+    private final Function<Expression, String> expressionEncoder;
+
+    private void writeString(final String string) {
+        if (null == string) {
+            throw new IllegalArgumentException("Missing string");
+        }
+
+        Integer index = this.stringToIndex.get(string);
+        if (null == index) {
+            index = this.strings.size();
+            this.strings.add(string);
+            this.stringToIndex.put(
+                string,
+                index
+            );
+        }
+
+        this.writeVarint(index);
+    }
+
+    private final List<String> strings = Lists.array();
+
+    private final Map<String, Integer> stringToIndex = Maps.hash();
+
+    /**
+     * Writes an unsigned value 7 bits at a time, setting the high bit when more bytes follow.
+     */
+    private void writeVarint(final int value) {
+        int v = value;
+
+        while ((v & ~0x7f) != 0) {
+            this.writeByte(
+                (byte) ((v & 0x7f) | 0x80)
+            );
+            v >>>= 7;
+        }
+
+        this.writeByte((byte) v);
+    }
+
+    private void writeByte(final byte value) {
+        this.ensureCapacity(1);
+        this.bytes[this.length++] = value;
+    }
+
+    private void ensureCapacity(final int count) {
+        final byte[] bytes = this.bytes;
+        final int required = this.length + count;
+
+        if (required > bytes.length) {
+            final byte[] copy = new byte[Math.max(required, bytes.length * 2)];
+            System.arraycopy(
+                bytes,
+                0,
+                copy,
+                0,
+                this.length
+            );
+            this.bytes = copy;
+        }
+    }
+
+    private byte[] bytes = new byte[64];
+
+    private int length;
+
+    @Override
+    public String toString() {
+        return this.length + " " + this.strings;
+    }
+}
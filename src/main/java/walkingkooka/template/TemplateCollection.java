@@ -18,8 +18,6 @@
 package walkingkooka.template;
 
 import walkingkooka.collect.list.Lists;
-import walkingkooka.collect.set.Sets;
-import walkingkooka.collect.set.SortedSets;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.Printer;
 
@@ -70,6 +68,14 @@ final class TemplateCollection implements Template {
 
     private TemplateCollection(final List<Template> templates) {
         this.templates = templates;
+
+        final List<TemplateValueName> templateValueNames = Lists.array();
+        for (final Template template : templates) {
+            templateValueNames.addAll(
+                template.templateValueNames()
+            );
+        }
+        this.templateValueNames = TemplateValueNameSet.with(templateValueNames);
     }
 
     @Override
@@ -78,31 +84,22 @@ final class TemplateCollection implements Template {
         Objects.requireNonNull(printer, "printer");
         Objects.requireNonNull(context, "context");
 
+        final TemplateContext renderContext = context.renderContext();
+
         for (final Template template : this.templates) {
             template.render(
                     printer,
-                    context
+                    renderContext
             );
         }
     }
 
     @Override
     public Set<TemplateValueName> templateValueNames() {
-        if (null == this.templateValueNames) {
-            final Set<TemplateValueName> templateValueNames = SortedSets.tree();
-
-            for (final Template template : this.templates) {
-                templateValueNames.addAll(
-                    template.templateValueNames()
-                );
-            }
-
-            this.templateValueNames = Sets.immutable(templateValueNames);
-        }
         return this.templateValueNames;
     }
 
-    private Set<TemplateValueName> templateValueNames;
+    private final TemplateValueNameSet templateValueNames;
 
     // Value............................................................................................................
 
@@ -115,11 +112,21 @@ final class TemplateCollection implements Template {
 
     // Object...........................................................................................................
 
+    /**
+     * The hash is computed once, as the tree is immutable and may be used in cache keys.
+     */
     @Override
     public int hashCode() {
-        return this.templates.hashCode();
+        int hashCode = this.hashCode;
+        if (0 == hashCode) {
+            hashCode = this.templates.hashCode();
+            this.hashCode = hashCode;
+        }
+        return hashCode;
     }
 
+    private int hashCode;
+
     @Override
     public boolean equals(final Object other) {
         return this == other ||
@@ -127,7 +134,8 @@ final class TemplateCollection implements Template {
     }
 
     private boolean equals0(final TemplateCollection other) {
-        return this.templates.equals(other.templates);
+        return this.hashCode() == other.hashCode() &&
+                this.templates.equals(other.templates);
     }
 
     @Override
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parses template text using a {@link TemplateContext}, remembering the compiled {@link Template} in a
+ * {@link TemplateCompileCacheStore} so a later process can decode it with a {@link TemplateBinaryCodec} instead of
+ * parsing. Entries are keyed by a 64-bit FNV-1a fingerprint of the parser id and text. Because different texts may
+ * share a fingerprint, each entry also holds the text length and {@link String#hashCode()}, which must match, followed
+ * by a 32-bit FNV-1a checksum of the encoded {@link Template}.
+ * <pre>
+ * text length  4 bytes
+ * text hash    4 bytes
+ * checksum     4 bytes
+ * template     {@link TemplateBinaryCodec} bytes
+ * </pre>
+ * Entries that do not match their text, fail their checksum or fail to decode are parsed again and replaced. Entries
+ * are only decoded when their text is first parsed, directly from the {@link InputStream} returned by the
+ * {@link TemplateCompileCacheStore}.
+ * <br>
+ * Different texts are parsed concurrently, only threads parsing the same text wait for each other. At most maxTemplates
+ * are remembered by this process, other texts are decoded from the {@link TemplateCompileCacheStore} each time.
+ */
+public final class TemplateCompileCache {
+
+    /**
+     * The parserId should change whenever the {@link TemplateContext} would parse the same text differently, so
+     * stale entries are never read.
+     */
+    public static TemplateCompileCache with(final TemplateContext context,
+                                            final String parserId,
+                                            final TemplateBinaryCodec codec,
+                                            final TemplateCompileCacheStore store,
+                                            final int maxTemplates) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(parserId, "parserId");
+        Objects.requireNonNull(codec, "codec");
+        Objects.requireNonNull(store, "store");
+        if (maxTemplates < 0) {
+            throw new IllegalArgumentException("Invalid maxTemplates " + maxTemplates + " < 0");
+        }
+
+        return new TemplateCompileCache(
+            context,
+            parserId,
+            codec,
+            store,
+            maxTemplates
+        );
+    }
+
+    private TemplateCompileCache(final TemplateContext context,
+                                 final String parserId,
+                                 final TemplateBinaryCodec codec,
+                                 final TemplateCompileCacheStore store,
+                                 final int maxTemplates) {
+        this.context = context;
+        this.parserId = parserId;
+        this.codec = codec;
+        this.store = store;
+        this.maxTemplates = maxTemplates;
+    }
+
+    /**
+     * Returns the {@link Template} for the given text, decoding a stored entry or parsing and storing.
+     */
+    public Template parse(final String text) {
+        Objects.requireNonNull(text, "text");
+
+        final Map<String, Template> textToTemplate = this.textToTemplate;
+
+        Template template = textToTemplate.get(text);
+        if (null == template) {
+            template = textToTemplate.size() < this.maxTemplates ?
+                textToTemplate.computeIfAbsent(
+                    text,
+                    this::loadOrParse
+                ) :
+                this.loadOrParse(text);
+        }
+
+        return template;
+    }
+
+    /**
+     * Decodes the stored entry for the text, or parses and stores the text.
+     */
+    private Template loadOrParse(final String text) {
+        final long fingerprint = this.fingerprint(text);
+
+        Template template = this.load(
+            fingerprint,
+            text
+        );
+        if (null == template) {
+            this.misses.incrementAndGet();
+
+            template = this.context.parseTemplateString(text);
+            this.store.save(
+                fingerprint,
+                this.encode(
+                    text,
+                    template
+                )
+            );
+        } else {
+            this.hits.incrementAndGet();
+        }
+
+        return template;
+    }
+
+    private Template load(final long fingerprint,
+                          final String text) {
+        Template template = null;
+
+        final Optional<InputStream> loaded = this.store.load(fingerprint);
+        if (loaded.isPresent()) {
+            try (final InputStream input = loaded.get()) {
+                if (readInt(input) == text.length() && readInt(input) == text.hashCode()) {
+                    final int checksum = readInt(input);
+
+                    final TemplateCompileCacheChecksumInputStream checksummed = TemplateCompileCacheChecksumInputStream.with(input);
+                    final Template decoded = this.codec.decode(checksummed);
+
+                    if (checksummed.checksum() == checksum) {
+                        template = decoded;
+                    }
+                }
+            } catch (final IllegalArgumentException | IOException ignore) {
+                // corrupt or truncated entry will be replaced
+            }
+        }
+
+        return template;
+    }
+
+    /**
+     * Reads a big-endian int, failing if the entry is truncated.
+     */
+    private static int readInt(final InputStream input) throws IOException {
+        int value = 0;
+
+        for (int i = 0; i < 4; i++) {
+            final int b = input.read();
+            if (-1 == b) {
+                throw new IllegalArgumentException("Invalid template cache entry, truncated");
+            }
+            value = value << 8 | b;
+        }
+
+        return value;
+    }
+
+    private byte[] encode(final String text,
+                          final Template template) {
+        final byte[] encoded = this.codec.encode(template);
+        final byte[] bytes = new byte[HEADER_LENGTH + encoded.length];
+
+        writeInt(
+            text.length(),
+            bytes,
+            0
+        );
+        writeInt(
+            text.hashCode(),
+            bytes,
+            4
+        );
+
+        int checksum = CHECKSUM_OFFSET;
+        for (final byte b : encoded) {
+            checksum = checksum(
+                checksum,
+                b & 0xff
+            );
+        }
+        writeInt(
+            checksum,
+            bytes,
+            8
+        );
+
+        System.arraycopy(
+            encoded,
+            0,
+            bytes,
+            HEADER_LENGTH,
+            encoded.length
+        );
+
+        return bytes;
+    }
+
+    private final static int HEADER_LENGTH = 12;
+
+    private static void writeInt(final int value,
+                                 final byte[] bytes,
+                                 final int offset) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * The initial 32-bit FNV-1a hash.
+     */
+    final static int CHECKSUM_OFFSET = 0x811c9dc5;
+
+    /**
+     * Adds one byte to a 32-bit FNV-1a hash.
+     */
+    static int checksum(final int hash,
+                        final int b) {
+        return (hash ^ b) * 0x01000193;
+    }
+
+    /**
+     * 64-bit FNV-1a of the parser id followed by the text, hashing each char as two bytes.
+     */
+    long fingerprint(final String text) {
+        long hash = 0xcbf29ce484222325L;
+
+        hash = fingerprint(hash, this.parserId);
+        hash = fingerprint(hash, (char) 0);
+        hash = fingerprint(hash, text);
+
+        return hash;
+    }
+
+    private static long fingerprint(final long hash,
+                                    final String text) {
+        long h = hash;
+
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            h = fingerprint(h, text.charAt(i));
+        }
+
+        return h;
+    }
+
+    private static long fingerprint(final long hash,
+                                    final char c) {
+        long h = hash;
+
+        h ^= c >>> 8;
+        h *= 0x100000001b3L;
+        h ^= c & 0xff;
+        h *= 0x100000001b3L;
+
+        return h;
+    }
+
+    private final TemplateContext context;
+
+    private final String parserId;
+
+    private final TemplateBinaryCodec codec;
+
+    private final TemplateCompileCacheStore store;
+
+    /**
+     * Decoded or parsed templates for this process, holding at most {@link #maxTemplates}.
+     */
+    private final Map<String, Template> textToTemplate = new ConcurrentHashMap<>();
+
+    private final int maxTemplates;
+
+    /**
+     * The number of texts decoded from the store.
+     */
+    public long hits() {
+        return this.hits.get();
+    }
+
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * The number of texts that were parsed.
+     */
+    public long misses() {
+        return this.misses.get();
+    }
+
+    private final AtomicLong misses = new AtomicLong();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.parserId + " hits=" + this.hits + " misses=" + this.misses + " " + this.store;
+    }
+}
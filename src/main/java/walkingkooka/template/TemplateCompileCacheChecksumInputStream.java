@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} that computes a 32-bit FNV-1a checksum of every byte read from the wrapped
+ * {@link InputStream}, used by {@link TemplateCompileCache} to verify an entry while it is decoded.
+ */
+final class TemplateCompileCacheChecksumInputStream extends InputStream {
+
+    static TemplateCompileCacheChecksumInputStream with(final InputStream input) {
+        return new TemplateCompileCacheChecksumInputStream(input);
+    }
+
+    private TemplateCompileCacheChecksumInputStream(final InputStream input) {
+        super();
+        this.input = input;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = this.input.read();
+        if (-1 != b) {
+            this.checksum = TemplateCompileCache.checksum(
+                this.checksum,
+                b
+            );
+        }
+        return b;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return this.input.available();
+    }
+
+    /**
+     * The checksum of all bytes read so far.
+     */
+    int checksum() {
+        return this.checksum;
+    }
+
+    private int checksum = TemplateCompileCache.CHECKSUM_OFFSET;
+
+    private final InputStream input;
+
+    @Override
+    public String toString() {
+        return this.input.toString();
+    }
+}
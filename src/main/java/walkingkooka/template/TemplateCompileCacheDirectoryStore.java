@@ -0,0 +1,284 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.map.Maps;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link TemplateCompileCacheStore} that keeps all entries in a single file within a directory. When the store is
+ * created only the record headers are read to build an index and the file is memory-mapped once, each entry is then
+ * decoded directly from the mapped bytes when first loaded.
+ * <pre>
+ * fingerprint  8 bytes
+ * length       4 bytes
+ * entry        length bytes
+ * </pre>
+ * Saves append a record, a later record for the same fingerprint replaces an earlier one. A partial record left by an
+ * interrupted save is truncated when the store is created. A file that cannot be read or is larger than 2GB is
+ * discarded and the store starts empty, and saves that would grow the file past 2GB are only kept in memory. Only one
+ * process should save to a directory at a time. This class is JVM only and is not available to J2CL or GWT.
+ */
+public final class TemplateCompileCacheDirectoryStore implements TemplateCompileCacheStore {
+
+    public static TemplateCompileCacheDirectoryStore with(final Path directory) {
+        return with(
+            directory,
+            Integer.MAX_VALUE
+        );
+    }
+
+    /**
+     * A file larger than maxFileSize, or one that cannot be read, is discarded and the store starts empty.
+     */
+    // @VisibleForTesting
+    static TemplateCompileCacheDirectoryStore with(final Path directory,
+                                                   final int maxFileSize) {
+        Objects.requireNonNull(directory, "directory");
+
+        try {
+            Files.createDirectories(directory);
+        } catch (final IOException cause) {
+            throw new UncheckedIOException(cause);
+        }
+
+        final Path file = directory.resolve(FILE_NAME);
+        final Map<Long, Long> fingerprintToRecord = Maps.hash();
+
+        ByteBuffer mapped = ByteBuffer.allocate(0);
+        int end;
+
+        try {
+            try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final long size = channel.size();
+
+                end = size > maxFileSize ?
+                    0 :
+                    index(
+                        channel,
+                        size,
+                        fingerprintToRecord
+                    );
+
+                // drop an oversized file or a partial record left by an interrupted save
+                if (end < size) {
+                    channel.truncate(end);
+                }
+
+                if (end > 0) {
+                    mapped = channel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        0,
+                        end
+                    );
+                }
+            }
+        } catch (final IOException unreadable) {
+            fingerprintToRecord.clear();
+            end = 0;
+
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException cause) {
+                throw new UncheckedIOException(cause);
+            }
+        }
+
+        return new TemplateCompileCacheDirectoryStore(
+            directory,
+            file,
+            maxFileSize,
+            mapped,
+            fingerprintToRecord,
+            end
+        );
+    }
+
+    /**
+     * Reads each record header, recording the start and length of each entry and returning the end of the last
+     * complete record.
+     */
+    private static int index(final FileChannel channel,
+                             final long size,
+                             final Map<Long, Long> fingerprintToRecord) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+        int position = 0;
+
+        while (position + RECORD_HEADER_LENGTH <= size) {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (-1 == channel.read(header, position + header.position())) {
+                    throw new IOException("Unexpected end of " + FILE_NAME);
+                }
+            }
+
+            final long fingerprint = header.getLong(0);
+            final int length = header.getInt(8);
+            final int start = position + RECORD_HEADER_LENGTH;
+
+            if (length < 0 || length > size - start) {
+                break; // partial record
+            }
+
+            fingerprintToRecord.put(
+                fingerprint,
+                (long) start << 32 | length
+            );
+            position = start + length;
+        }
+
+        return position;
+    }
+
+    private TemplateCompileCacheDirectoryStore(final Path directory,
+                                               final Path file,
+                                               final int maxFileSize,
+                                               final ByteBuffer mapped,
+                                               final Map<Long, Long> fingerprintToRecord,
+                                               final long end) {
+        this.directory = directory;
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.mapped = mapped;
+        this.fingerprintToRecord = fingerprintToRecord;
+        this.end = end;
+    }
+
+    @Override
+    public synchronized Optional<InputStream> load(final long fingerprint) {
+        InputStream input = null;
+
+        final byte[] saved = this.fingerprintToSaved.get(fingerprint);
+        if (null != saved) {
+            input = new ByteArrayInputStream(saved);
+        } else {
+            final Long record = this.fingerprintToRecord.get(fingerprint);
+            if (null != record) {
+                final int start = (int) (record >>> 32);
+                final int length = record.intValue();
+
+                final ByteBuffer entry = this.mapped.duplicate();
+                entry.position(start);
+                entry.limit(start + length);
+
+                input = TemplateCompileCacheDirectoryStoreInputStream.with(
+                    entry.slice()
+                );
+            }
+        }
+
+        return Optional.ofNullable(input);
+    }
+
+    @Override
+    public synchronized void save(final long fingerprint,
+                                  final byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_LENGTH + bytes.length);
+        record.putLong(fingerprint);
+        record.putInt(bytes.length);
+        record.put(bytes);
+        record.flip();
+
+        long end = this.end;
+
+        // entries that would grow the file past its maximum are only remembered by this process
+        if (end + record.remaining() <= this.maxFileSize) {
+            end = this.write(
+                record,
+                end
+            );
+        }
+
+        this.end = end;
+        this.fingerprintToSaved.put(
+            fingerprint,
+            bytes.clone()
+        );
+    }
+
+    /**
+     * Writes the record at the given position, returning the new end of the file.
+     */
+    private long write(final ByteBuffer record,
+                       final long position) {
+        long end = position;
+
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            while (record.hasRemaining()) {
+                end += channel.write(
+                    record,
+                    end
+                );
+            }
+        } catch (final IOException cause) {
+            throw new UncheckedIOException(cause);
+        }
+
+        return end;
+    }
+
+    private final Path directory;
+
+    private final Path file;
+
+    private final int maxFileSize;
+
+    /**
+     * The file as it was when this store was created.
+     */
+    private final ByteBuffer mapped;
+
+    /**
+     * The start of each entry in {@link #mapped} in the high int and its length in the low int.
+     */
+    private final Map<Long, Long> fingerprintToRecord;
+
+    /**
+     * Entries saved after the file was mapped.
+     */
+    private final Map<Long, byte[]> fingerprintToSaved = Maps.hash();
+
+    /**
+     * The end of the last complete record, where the next record will be written.
+     */
+    private long end;
+
+    private final static int RECORD_HEADER_LENGTH = 8 + 4;
+
+    // @VisibleForTesting
+    final static String FILE_NAME = "templates.cache";
+
+    @Override
+    public String toString() {
+        return this.directory.toString();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link InputStream} that reads an entry of a {@link TemplateCompileCacheDirectoryStore} directly from the
+ * memory-mapped file. This class is JVM only and is not available to J2CL or GWT.
+ */
+final class TemplateCompileCacheDirectoryStoreInputStream extends InputStream {
+
+    static TemplateCompileCacheDirectoryStoreInputStream with(final ByteBuffer buffer) {
+        return new TemplateCompileCacheDirectoryStoreInputStream(buffer);
+    }
+
+    private TemplateCompileCacheDirectoryStoreInputStream(final ByteBuffer buffer) {
+        super();
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        final ByteBuffer buffer = this.buffer;
+
+        return buffer.hasRemaining() ?
+            buffer.get() & 0xff :
+            -1;
+    }
+
+    @Override
+    public int available() {
+        return this.buffer.remaining();
+    }
+
+    private final ByteBuffer buffer;
+
+    @Override
+    public String toString() {
+        return this.buffer.toString();
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Stores the encoded form of compiled {@link Template templates} for a {@link TemplateCompileCache}, keyed by a
+ * fingerprint of the template text and parser.
+ */
+public interface TemplateCompileCacheStore {
+
+    /**
+     * Returns the bytes previously saved for the fingerprint if any. The {@link InputStream} must report its remaining
+     * bytes from {@link InputStream#available()} and is closed by the caller.
+     */
+    Optional<InputStream> load(final long fingerprint);
+
+    /**
+     * Saves or replaces the bytes for the fingerprint.
+     */
+    void save(final long fingerprint,
+              final byte[] bytes);
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.reflect.PublicStaticHelper;
+
+/**
+ * A collection of {@link TemplateCompileCacheStore} factory methods. A store backed by a directory is available on
+ * the JVM from {@link TemplateCompileCacheDirectoryStore}.
+ */
+public final class TemplateCompileCacheStores implements PublicStaticHelper {
+
+    /**
+     * {@see MemoryTemplateCompileCacheStore}
+     */
+    public static TemplateCompileCacheStore memory() {
+        return MemoryTemplateCompileCacheStore.empty();
+    }
+
+    /**
+     * Stop creation
+     */
+    private TemplateCompileCacheStores() {
+        throw new UnsupportedOperationException();
+    }
+}
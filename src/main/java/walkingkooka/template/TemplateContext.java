@@ -110,6 +110,15 @@ public interface TemplateContext extends Context {
      */
     Template templateText(final String text);
 
+    /**
+     * Returns the {@link TemplateContext} used to render all the placeholders of one template, letting a context share
+     * state such as an expression scope across a whole render. {@link Template templates} that render more than one
+     * placeholder call this once and pass the result to every child. The default returns this.
+     */
+    default TemplateContext renderContext() {
+        return this;
+    }
+
     /**
      * Evaluates the given {@link Expression} into a {@link String string value}
      */
@@ -120,4 +129,23 @@ public interface TemplateContext extends Context {
      * the context can either return an empty string or throw an exception.
      */
     String templateValue(final TemplateValueName name);
+
+    /**
+     * Resolves the given {@link TemplateValueName} into a value that may be a number, date or other type, used when the
+     * value is referenced by an {@link Expression} so it does not need to be converted to {@link String} and back.
+     * The default returns {@link #templateValue(TemplateValueName)}.
+     */
+    default Object templateValueAsObject(final TemplateValueName name) {
+        return this.templateValue(name);
+    }
+
+    /**
+     * Returns a value that is equal whenever {@link #templateValue(TemplateValueName)} would return the same value,
+     * used by {@link Templates#cache(Template, TemplateRenderCache)} to build keys. Contexts where resolving a value
+     * requires rendering should return something cheaper such as the {@link Template templates} involved.
+     * The default returns {@link #templateValue(TemplateValueName)}.
+     */
+    default Object templateValueKey(final TemplateValueName name) {
+        return this.templateValue(name);
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.reflect.StaticHelper;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionEvaluationContext;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Helpers shared by the {@link TemplateContext} implementations that evaluate {@link Expression expressions} with
+ * {@link TemplateValueName} references resolved from sub-templates.
+ */
+final class TemplateContextExpressionEvaluation implements StaticHelper {
+
+    /**
+     * Enters a scope that resolves {@link TemplateValueName} references using the given function, all other references
+     * are resolved by the given {@link ExpressionEvaluationContext}.
+     */
+    static ExpressionEvaluationContext enterScope(final ExpressionEvaluationContext context,
+                                                  final Function<TemplateValueName, Object> templateValueAsObject) {
+        return context.enterScope(
+            (r) -> r instanceof TemplateValueName ?
+                Optional.of(
+                    Optional.ofNullable(
+                        templateValueAsObject.apply((TemplateValueName) r)
+                    )
+                ) :
+                context.reference(r)
+        );
+    }
+
+    /**
+     * Text results are returned without using the converter, other values such as numbers are converted by the
+     * {@link ExpressionEvaluationContext} as their format may depend on the context.
+     */
+    static String evaluateAsString(final Expression expression,
+                                   final ExpressionEvaluationContext context) {
+        final Object value = context.evaluateExpression(expression);
+
+        return value instanceof String ?
+            (String) value :
+            value instanceof CharSequence ?
+                value.toString() :
+                context.convertOrFail(
+                    value,
+                    String.class
+                );
+    }
+
+    /**
+     * When the {@link Template} is an {@link ExpressionTemplate}, the value of the expression is returned without
+     * converting it to a {@link String}, otherwise the {@link Supplier} is called for the rendered {@link String}.
+     */
+    static Object templateValueAsObject(final Template template,
+                                        final Supplier<String> rendered,
+                                        final ExpressionEvaluationContext context) {
+        return template instanceof ExpressionTemplate ?
+            context.evaluateExpression(
+                ((ExpressionTemplate) template).value()
+            ) :
+            rendered.get();
+    }
+}
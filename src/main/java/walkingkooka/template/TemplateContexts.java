@@ -22,6 +22,8 @@ import walkingkooka.text.LineEnding;
 import walkingkooka.text.cursor.TextCursor;
 import walkingkooka.tree.expression.ExpressionEvaluationContext;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -51,6 +53,23 @@ public final class TemplateContexts implements PublicStaticHelper {
         return new FakeTemplateContext();
     }
 
+    /**
+     * {@see PrefetchTemplateContext}
+     */
+    public static TemplateContext prefetch(final Template template,
+                                           final Function<TemplateValueName, Template> nameToTemplate,
+                                           final Function<Set<TemplateValueName>, Map<TemplateValueName, String>> loader,
+                                           final LineEnding lineEnding,
+                                           final ExpressionEvaluationContext expressionEvaluationContext) {
+        return PrefetchTemplateContext.with(
+            template,
+            nameToTemplate,
+            loader,
+            lineEnding,
+            expressionEvaluationContext
+        );
+    }
+
     /**
      * {@see RenderOnlyTemplateContext}
      */
@@ -58,6 +77,20 @@ public final class TemplateContexts implements PublicStaticHelper {
         return RenderOnlyTemplateContext.with(templateValues);
     }
 
+    /**
+     * {@see RenderOnlyTemplateContext}
+     * {@see RenderOnlyTemplateContextCacheFunction}
+     */
+    public static TemplateContext renderOnlyCache(final Function<TemplateValueName, String> templateValues,
+                                                  final Map<TemplateValueName, String> cache) {
+        return RenderOnlyTemplateContext.with(
+            RenderOnlyTemplateContextCacheFunction.with(
+                templateValues,
+                cache
+            )
+        );
+    }
+
     /**
      * Stop creation
      */
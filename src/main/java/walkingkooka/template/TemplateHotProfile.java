@@ -0,0 +1,327 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.template.url.UrlPathTemplate;
+import walkingkooka.text.LineEnding;
+
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Records how often template and {@link UrlPathTemplate} sources are used, so the hottest may be saved as text at
+ * shutdown and replayed by {@link #warmUp(Function, LineEnding, TemplateContext)} at the next startup, before traffic arrives.
+ * Each saved line holds a kind, a count and the escaped source, eg
+ * <pre>
+ * t 123 Hello ${name}\n
+ * u 45 /api/${id}
+ * </pre>
+ * Reading and writing the file is left to the caller so this class remains J2CL compatible.
+ * <br>
+ * Recording is lock free, only bumping a counter in a hash map, so it may be called on every render. Sources are
+ * only sorted by {@link #save(int)}.
+ */
+public final class TemplateHotProfile {
+
+    public static TemplateHotProfile empty() {
+        return new TemplateHotProfile();
+    }
+
+    /**
+     * Loads text previously returned by {@link #save(int)}.
+     */
+    public static TemplateHotProfile load(final String text) {
+        Objects.requireNonNull(text, "text");
+
+        final TemplateHotProfile profile = empty();
+
+        int lineNumber = 0;
+        for (final String line : text.split("\n")) {
+            lineNumber++;
+
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            final int space = line.indexOf(' ', 2);
+            if (line.length() < 4 || line.charAt(1) != ' ' || -1 == space) {
+                throw new IllegalArgumentException("Invalid line " + lineNumber + " " + line);
+            }
+
+            final Map<String, AtomicInteger> sources;
+            switch (line.charAt(0)) {
+                case TEMPLATE:
+                    sources = profile.templates;
+                    break;
+                case URL_PATH:
+                    sources = profile.urlPaths;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid line " + lineNumber + " " + line);
+            }
+
+            final int count;
+            try {
+                count = Integer.parseInt(
+                    line.substring(2, space)
+                );
+            } catch (final NumberFormatException cause) {
+                throw new IllegalArgumentException("Invalid line " + lineNumber + " " + line);
+            }
+
+            sources.put(
+                unescape(
+                    line.substring(space + 1)
+                ),
+                new AtomicInteger(count)
+            );
+        }
+
+        return profile;
+    }
+
+    private TemplateHotProfile() {
+        super();
+    }
+
+    /**
+     * Records a use of the given template source.
+     */
+    public void recordTemplate(final String source) {
+        record(
+            source,
+            this.templates
+        );
+    }
+
+    /**
+     * Records a use of the given {@link UrlPathTemplate} source.
+     */
+    public void recordUrlPath(final String source) {
+        record(
+            source,
+            this.urlPaths
+        );
+    }
+
+    private static void record(final String source,
+                               final Map<String, AtomicInteger> sources) {
+        Objects.requireNonNull(source, "source");
+
+        AtomicInteger count = sources.get(source);
+        if (null == count) {
+            count = sources.computeIfAbsent(
+                source,
+                (s) -> new AtomicInteger()
+            );
+        }
+        count.incrementAndGet();
+    }
+
+    private final Map<String, AtomicInteger> templates = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> urlPaths = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the most used template and url path sources as text, at most max of each kind.
+     */
+    public String save(final int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Invalid max " + max + " < 0");
+        }
+
+        final StringBuilder b = new StringBuilder();
+
+        save(
+            TEMPLATE,
+            hottest(this.templates, max),
+            b
+        );
+        save(
+            URL_PATH,
+            hottest(this.urlPaths, max),
+            b
+        );
+
+        return b.toString();
+    }
+
+    private static void save(final char kind,
+                             final List<Map.Entry<String, Integer>> sources,
+                             final StringBuilder b) {
+        for (final Map.Entry<String, Integer> source : sources) {
+            b.append(kind)
+                .append(' ')
+                .append(source.getValue())
+                .append(' ');
+            escape(
+                source.getKey(),
+                b
+            );
+            b.append('\n');
+        }
+    }
+
+    /**
+     * Returns the sources with the highest counts first, ties sorted by source.
+     */
+    private static List<Map.Entry<String, Integer>> hottest(final Map<String, AtomicInteger> sources,
+                                                           final int max) {
+        final List<Map.Entry<String, Integer>> sorted = Lists.array();
+        for (final Map.Entry<String, AtomicInteger> source : sources.entrySet()) {
+            sorted.add(
+                new AbstractMap.SimpleImmutableEntry<>(
+                    source.getKey(),
+                    source.getValue()
+                        .get()
+                )
+            );
+        }
+        sorted.sort(
+            (l, r) -> {
+                final int count = Integer.compare(
+                    r.getValue(),
+                    l.getValue()
+                );
+                return 0 != count ?
+                    count :
+                    l.getKey().compareTo(r.getKey());
+            }
+        );
+
+        return sorted.size() > max ?
+            sorted.subList(0, max) :
+            sorted;
+    }
+
+    /**
+     * Parses and renders each recorded source with the given {@link TemplateContext}, warming any caches behind the
+     * parser, the context and the JIT. The context should supply values that render every path that matters, eg
+     * synthetic values for each name. Failures are ignored as they will be reported when the template is really used.
+     * Returns the number of sources that rendered successfully.
+     */
+    public int warmUp(final Function<String, Template> parser,
+                      final LineEnding lineEnding,
+                      final TemplateContext context) {
+        Objects.requireNonNull(parser, "parser");
+        Objects.requireNonNull(lineEnding, "lineEnding");
+        Objects.requireNonNull(context, "context");
+
+        final List<String> templates = Lists.array();
+        templates.addAll(this.templates.keySet());
+
+        final List<String> urlPaths = Lists.array();
+        urlPaths.addAll(this.urlPaths.keySet());
+
+        int count = 0;
+
+        for (final String source : templates) {
+            try {
+                parser.apply(source)
+                    .renderToString(
+                        lineEnding,
+                        context
+                    );
+                count++;
+            } catch (final RuntimeException ignore) {
+                // fail when really used
+            }
+        }
+
+        for (final String source : urlPaths) {
+            try {
+                UrlPathTemplate.parse(source)
+                    .renderPath(context::templateValue);
+                count++;
+            } catch (final RuntimeException ignore) {
+                // fail when really used
+            }
+        }
+
+        return count;
+    }
+
+    private final static char TEMPLATE = 't';
+
+    private final static char URL_PATH = 'u';
+
+    private static void escape(final String text,
+                               final StringBuilder b) {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+
+            switch (c) {
+                case '\\':
+                    b.append("\\\\");
+                    break;
+                case '\n':
+                    b.append("\\n");
+                    break;
+                case '\r':
+                    b.append("\\r");
+                    break;
+                default:
+                    b.append(c);
+                    break;
+            }
+        }
+    }
+
+    private static String unescape(final String text) {
+        final StringBuilder b = new StringBuilder();
+
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if ('\\' == c && i + 1 < length) {
+                i++;
+                c = text.charAt(i);
+
+                switch (c) {
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            b.append(c);
+        }
+
+        return b.toString();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.templates.size() + " template(s) " + this.urlPaths.size() + " url path(s)";
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.TextCursors;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Parses template text using the same rules as {@link TemplateContext#parseTemplateWithBackslashEscaping(TextCursor)},
+ * remembering where each placeholder was found. After an edit, placeholders entirely before or after the edited range
+ * are reused, and only placeholders overlapping the edit are given to
+ * {@link TemplateContext#parseTemplateExpression(TextCursor)} again. Text is scanned again, which is cheap compared to
+ * parsing expressions. This is not thread safe.
+ */
+public final class TemplateIncrementalParser {
+
+    public static TemplateIncrementalParser with(final TemplateContext context) {
+        return new TemplateIncrementalParser(
+            Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private TemplateIncrementalParser(final TemplateContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Parses the complete text, replacing any previous text.
+     */
+    public Template parse(final String text) {
+        Objects.requireNonNull(text, "text");
+
+        return this.parse(
+            text,
+            Maps.empty(),
+            0,
+            0,
+            0
+        );
+    }
+
+    /**
+     * Applies an edit to the previous text and parses the new text, reusing placeholders that do not overlap the edit.
+     */
+    public Template edit(final int offset,
+                         final int removedLength,
+                         final String inserted) {
+        Objects.requireNonNull(inserted, "inserted");
+
+        final String previous = this.text;
+        if (null == previous) {
+            throw new IllegalStateException("Parse required before edit");
+        }
+        if (offset < 0 || offset > previous.length()) {
+            throw new IllegalArgumentException("Invalid offset " + offset + " not between 0 and " + previous.length());
+        }
+        if (removedLength < 0 || offset + removedLength > previous.length()) {
+            throw new IllegalArgumentException("Invalid removedLength " + removedLength + " not between 0 and " + (previous.length() - offset));
+        }
+
+        return this.parse(
+            previous.substring(0, offset) + inserted + previous.substring(offset + removedLength),
+            this.placeholders,
+            offset,
+            offset + removedLength,
+            inserted.length() - removedLength
+        );
+    }
+
+    /**
+     * Parses the text, where editStart and editEnd are offsets within the previous text, and delta is the change in
+     * length.
+     */
+    private Template parse(final String text,
+                           final Map<Integer, TemplateIncrementalParserPlaceholder> previous,
+                           final int editStart,
+                           final int editEnd,
+                           final int delta) {
+        final TemplateContext context = this.context;
+        final Map<Integer, TemplateIncrementalParserPlaceholder> placeholders = Maps.hash();
+
+        final List<Template> templates = Lists.array();
+        final StringBuilder b = new StringBuilder();
+
+        final int length = text.length();
+        int i = 0;
+
+        while (i < length) {
+            final char c = text.charAt(i);
+
+            switch (c) {
+                case BACKSLASH:
+                    i++;
+                    if (i < length) {
+                        b.append(
+                            text.charAt(i)
+                        );
+                        i++;
+                    }
+                    break;
+                case DOLLAR_SIGN:
+                    if (i + 1 < length) {
+                        if (BRACE_OPEN != text.charAt(i + 1)) {
+                            throw new InvalidCharacterException(
+                                text,
+                                i
+                            );
+                        }
+
+                        addIfNotEmpty(
+                            b,
+                            templates,
+                            context
+                        );
+
+                        final TemplateIncrementalParserPlaceholder placeholder = this.placeholder(
+                            text,
+                            i,
+                            previous,
+                            editStart,
+                            editEnd,
+                            delta
+                        );
+                        placeholders.put(
+                            i,
+                            placeholder
+                        );
+                        templates.add(placeholder.template);
+
+                        i = placeholder.end;
+                    } else {
+                        i++;
+                    }
+                    break;
+                default:
+                    b.append(c);
+                    i++;
+                    break;
+            }
+        }
+
+        addIfNotEmpty(
+            b,
+            templates,
+            context
+        );
+
+        this.text = text;
+        this.placeholders = placeholders;
+
+        return context.templateCollection(templates);
+    }
+
+    private final static char BACKSLASH = '\\';
+    private final static char DOLLAR_SIGN = '$';
+    private final static char BRACE_OPEN = '{';
+
+    /**
+     * Reuses a previous placeholder that is entirely before or after the edit, otherwise parses the expression.
+     */
+    private TemplateIncrementalParserPlaceholder placeholder(final String text,
+                                                             final int start,
+                                                             final Map<Integer, TemplateIncrementalParserPlaceholder> previous,
+                                                             final int editStart,
+                                                             final int editEnd,
+                                                             final int delta) {
+        TemplateIncrementalParserPlaceholder placeholder = null;
+
+        if (start < editStart) {
+            final TemplateIncrementalParserPlaceholder before = previous.get(start);
+            if (null != before && before.end <= editStart) {
+                placeholder = before;
+            }
+        } else {
+            final int previousStart = start - delta;
+            if (previousStart >= editEnd) {
+                final TemplateIncrementalParserPlaceholder after = previous.get(previousStart);
+                if (null != after) {
+                    placeholder = new TemplateIncrementalParserPlaceholder(
+                        start,
+                        after.end + delta,
+                        after.template
+                    );
+                }
+            }
+        }
+
+        if (null == placeholder) {
+            final int expressionStart = start + 2;
+
+            final TextCursor cursor = TextCursors.charSequence(
+                TemplateIncrementalParserCharSequence.with(
+                    text,
+                    expressionStart,
+                    text.length()
+                )
+            );
+            final TextCursorSavePoint save = cursor.save();
+
+            final Template template = this.context.parseTemplateExpression(cursor);
+
+            placeholder = new TemplateIncrementalParserPlaceholder(
+                start,
+                expressionStart + save.textBetween().length(),
+                template
+            );
+        }
+
+        return placeholder;
+    }
+
+    private static void addIfNotEmpty(final StringBuilder b,
+                                      final List<Template> templates,
+                                      final TemplateContext context) {
+        if (b.length() > 0) {
+            templates.add(
+                context.templateText(
+                    b.toString()
+                )
+            );
+            b.setLength(0);
+        }
+    }
+
+    private final TemplateContext context;
+
+    /**
+     * The last parsed text, null until the first {@link #parse(String)}.
+     */
+    public String text() {
+        return this.text;
+    }
+
+    private String text;
+
+    /**
+     * Placeholders found in the last parsed text keyed by the offset of their dollar sign.
+     */
+    private Map<Integer, TemplateIncrementalParserPlaceholder> placeholders;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context.toString();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+/**
+ * A {@link CharSequence} view of part of a {@link String}, which does not copy characters. This allows the
+ * {@link TemplateIncrementalParser} to measure how many characters an expression consumed cheaply.
+ */
+final class TemplateIncrementalParserCharSequence implements CharSequence {
+
+    static TemplateIncrementalParserCharSequence with(final String text,
+                                                      final int start,
+                                                      final int end) {
+        return new TemplateIncrementalParserCharSequence(
+            text,
+            start,
+            end
+        );
+    }
+
+    private TemplateIncrementalParserCharSequence(final String text,
+                                                  final int start,
+                                                  final int end) {
+        this.text = text;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return this.end - this.start;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= this.length()) {
+            throw new StringIndexOutOfBoundsException("Invalid index " + index + " not between 0 and " + this.length());
+        }
+        return this.text.charAt(this.start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start,
+                                    final int end) {
+        if (start < 0 || start > end || end > this.length()) {
+            throw new StringIndexOutOfBoundsException("Invalid range " + start + ".." + end + " not within 0.." + this.length());
+        }
+        return with(
+            this.text,
+            this.start + start,
+            this.start + end
+        );
+    }
+
+    private final String text;
+
+    private final int start;
+
+    private final int end;
+
+    @Override
+    public String toString() {
+        return this.text.substring(
+            this.start,
+            this.end
+        );
+    }
+}
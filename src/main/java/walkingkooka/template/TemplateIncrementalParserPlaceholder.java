@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+/**
+ * Records where a placeholder was found in the text parsed by a {@link TemplateIncrementalParser}.
+ */
+final class TemplateIncrementalParserPlaceholder {
+
+    TemplateIncrementalParserPlaceholder(final int start,
+                                         final int end,
+                                         final Template template) {
+        this.start = start;
+        this.end = end;
+        this.template = template;
+    }
+
+    /**
+     * The offset of the dollar sign.
+     */
+    final int start;
+
+    /**
+     * The offset after the closing brace.
+     */
+    final int end;
+
+    final Template template;
+
+    @Override
+    public String toString() {
+        return this.start + ".." + this.end + " " + this.template;
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Generates the Java source of a class implementing {@link Template} for a template, so templates bundled with an
+ * application may be compiled at build time rather than parsed at runtime. The generated render method is straight
+ * line code, printing pre-merged literals and calling {@link TemplateContext#templateValue(TemplateValueName)} for each
+ * placeholder. Only the {@link Template} returned by {@link Templates#string(String)},
+ * {@link Templates#templateValueName(TemplateValueName)} and {@link Templates#collection(List)} are supported,
+ * and the generated source uses no JVM only APIs so it may also be translated by J2CL.
+ */
+public final class TemplateJavaSourceGenerator implements PublicStaticHelper {
+
+    /**
+     * Returns the source of a class with the given package and class name. The class has a public INSTANCE singleton.
+     */
+    public static String generate(final Template template,
+                                  final String packageName,
+                                  final String className) {
+        Objects.requireNonNull(template, "template");
+        checkPackageName(packageName);
+        checkIdentifier(className, "className");
+
+        final TemplateValueNameSet names = TemplateValueNameSet.with(
+            template.templateValueNames()
+        );
+
+        final StringBuilder render = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+
+        generateRender(
+            template,
+            names,
+            literal,
+            render
+        );
+        printLiteral(
+            literal,
+            render
+        );
+
+        final StringBuilder b = new StringBuilder();
+
+        if (false == packageName.isEmpty()) {
+            b.append("package ").append(packageName).append(";\n\n");
+        }
+
+        b.append("import walkingkooka.collect.set.Sets;\n");
+        b.append("import walkingkooka.template.Template;\n");
+        b.append("import walkingkooka.template.TemplateContext;\n");
+        b.append("import walkingkooka.template.TemplateValueName;\n");
+        b.append("import walkingkooka.text.CharSequences;\n");
+        b.append("import walkingkooka.text.printer.IndentingPrinter;\n");
+        b.append("import walkingkooka.text.printer.Printer;\n");
+        b.append("\n");
+        b.append("import java.util.Objects;\n");
+        b.append("import java.util.Set;\n");
+        b.append("\n");
+        b.append("/**\n");
+        b.append(" * Generated by ").append(TemplateJavaSourceGenerator.class.getSimpleName()).append(", do not edit.\n");
+        b.append(" */\n");
+        b.append("public final class ").append(className).append(" implements Template {\n");
+        b.append("\n");
+
+        final int count = names.size();
+        for (int i = 0; i < count; i++) {
+            b.append("    private final static TemplateValueName NAME").append(i)
+                .append(" = TemplateValueName.with(")
+                .append(javaStringLiteral(names.get(i).value()))
+                .append(");\n");
+            b.append("\n");
+        }
+
+        b.append("    private final static Set<TemplateValueName> NAMES = Sets.of(");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                b.append(", ");
+            }
+            b.append("NAME").append(i);
+        }
+        b.append(");\n");
+        b.append("\n");
+        b.append("    private final static String SOURCE = ").append(javaStringLiteral(template.toString())).append(";\n");
+        b.append("\n");
+        b.append("    public final static ").append(className).append(" INSTANCE = new ").append(className).append("();\n");
+        b.append("\n");
+        b.append("    private ").append(className).append("() {\n");
+        b.append("        super();\n");
+        b.append("    }\n");
+        b.append("\n");
+        b.append("    @Override\n");
+        b.append("    public void render(final Printer printer,\n");
+        b.append("                       final TemplateContext context) {\n");
+        b.append("        Objects.requireNonNull(printer, \"printer\");\n");
+        b.append("        Objects.requireNonNull(context, \"context\");\n");
+        if (false == names.isEmpty()) {
+            b.append("        final TemplateContext renderContext = context.renderContext();\n");
+        }
+        b.append(render);
+        b.append("    }\n");
+        b.append("\n");
+        b.append("    @Override\n");
+        b.append("    public Set<TemplateValueName> templateValueNames() {\n");
+        b.append("        return NAMES;\n");
+        b.append("    }\n");
+        b.append("\n");
+        b.append("    @Override\n");
+        b.append("    public Object value() {\n");
+        b.append("        return SOURCE;\n");
+        b.append("    }\n");
+        b.append("\n");
+        b.append("    @Override\n");
+        b.append("    public void printTree(final IndentingPrinter printer) {\n");
+        b.append("        printer.println(this.getClass().getSimpleName());\n");
+        b.append("        printer.indent();\n");
+        b.append("        printer.println(CharSequences.quoteAndEscape(SOURCE));\n");
+        b.append("        printer.outdent();\n");
+        b.append("    }\n");
+        b.append("\n");
+        b.append("    @Override\n");
+        b.append("    public String toString() {\n");
+        b.append("        return SOURCE;\n");
+        b.append("    }\n");
+        b.append("}\n");
+
+        return b.toString();
+    }
+
+    /**
+     * Appends a statement for each placeholder, accumulating adjacent literals so they are printed once.
+     */
+    private static void generateRender(final Template template,
+                                       final TemplateValueNameSet names,
+                                       final StringBuilder literal,
+                                       final StringBuilder render) {
+        if (template instanceof StringTemplate) {
+            literal.append(
+                ((StringTemplate) template).value()
+            );
+        } else if (template instanceof TemplateValueNameTemplate) {
+            printLiteral(
+                literal,
+                render
+            );
+
+            render.append("        printer.print(renderContext.templateValue(NAME")
+                .append(
+                    names.indexOf(
+                        ((TemplateValueNameTemplate) template).value()
+                    )
+                ).append("));\n");
+        } else if (template instanceof TemplateCollection) {
+            for (final Template child : ((TemplateCollection) template).value()) {
+                generateRender(
+                    child,
+                    names,
+                    literal,
+                    render
+                );
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported template " + template.getClass().getSimpleName() + " " + template);
+        }
+    }
+
+    private static void printLiteral(final StringBuilder literal,
+                                     final StringBuilder render) {
+        if (literal.length() > 0) {
+            render.append("        printer.print(")
+                .append(
+                    javaStringLiteral(literal)
+                ).append(");\n");
+            literal.setLength(0);
+        }
+    }
+
+    private static String javaStringLiteral(final CharSequence text) {
+        final StringBuilder b = new StringBuilder();
+        b.append('"');
+
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+
+            switch (c) {
+                case '\\':
+                    b.append("\\\\");
+                    break;
+                case '"':
+                    b.append("\\\"");
+                    break;
+                case '\n':
+                    b.append("\\n");
+                    break;
+                case '\r':
+                    b.append("\\r");
+                    break;
+                case '\t':
+                    b.append("\\t");
+                    break;
+                default:
+                    if (c < ' ' || c > '~') {
+                        final String hex = Integer.toHexString(c);
+                        b.append("\\u")
+                            .append("0000", hex.length(), 4)
+                            .append(hex);
+                    } else {
+                        b.append(c);
+                    }
+                    break;
+            }
+        }
+
+        b.append('"');
+        return b.toString();
+    }
+
+    private static void checkPackageName(final String packageName) {
+        Objects.requireNonNull(packageName, "packageName");
+
+        if (false == packageName.isEmpty()) {
+            for (final String component : packageName.split("\\.", -1)) {
+                if (component.isEmpty() || false == isIdentifier(component)) {
+                    throw new IllegalArgumentException("Invalid packageName " + packageName);
+                }
+            }
+        }
+    }
+
+    private static void checkIdentifier(final String identifier,
+                                        final String label) {
+        Objects.requireNonNull(identifier, label);
+
+        if (false == isIdentifier(identifier)) {
+            throw new IllegalArgumentException("Invalid " + label + " " + identifier);
+        }
+    }
+
+    /**
+     * Only ascii letters, digits, underscore and dollar sign are accepted, and reserved words are rejected.
+     */
+    private static boolean isIdentifier(final String text) {
+        boolean valid = false == text.isEmpty() && false == RESERVED.contains(text);
+
+        final int length = text.length();
+        for (int i = 0; valid && i < length; i++) {
+            final char c = text.charAt(i);
+
+            valid = (c >= 'A' && c <= 'Z') ||
+                (c >= 'a' && c <= 'z') ||
+                c == '_' ||
+                c == '$' ||
+                (i > 0 && c >= '0' && c <= '9');
+        }
+
+        return valid;
+    }
+
+    /**
+     * Java keywords and literals that may not be used as a class name or package component.
+     */
+    private final static Set<String> RESERVED = Sets.of(
+        "_",
+        "abstract",
+        "assert",
+        "boolean",
+        "break",
+        "byte",
+        "case",
+        "catch",
+        "char",
+        "class",
+        "const",
+        "continue",
+        "default",
+        "do",
+        "double",
+        "else",
+        "enum",
+        "extends",
+        "false",
+        "final",
+        "finally",
+        "float",
+        "for",
+        "goto",
+        "if",
+        "implements",
+        "import",
+        "instanceof",
+        "int",
+        "interface",
+        "long",
+        "native",
+        "new",
+        "null",
+        "package",
+        "private",
+        "protected",
+        "public",
+        "return",
+        "short",
+        "static",
+        "strictfp",
+        "super",
+        "switch",
+        "synchronized",
+        "this",
+        "throw",
+        "throws",
+        "transient",
+        "true",
+        "try",
+        "void",
+        "volatile",
+        "while"
+    );
+
+    /**
+     * Stop creation
+     */
+    private TemplateJavaSourceGenerator() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.tree.expression.ExpressionEvaluationContexts;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A JVM only build time entry point that generates a class with {@link TemplateJavaSourceGenerator} for every
+ * template file below a directory, for example from the exec-maven-plugin during generate-sources.
+ * <pre>
+ * java walkingkooka.template.TemplateJavaSourceGeneratorMain src/main/templates target/generated-sources/templates com.example.templates
+ * </pre>
+ * Each file ending with {@link #FILE_EXTENSION} is parsed by {@link TemplateContextParseTextCursor} and named after
+ * the file in upper camel case, eg <code>welcome-email.template</code> becomes <code>WelcomeEmail</code>. Files in
+ * sub directories are generated into sub packages. Expressions are not supported and fail the build.
+ * This class is not available to J2CL or GWT.
+ */
+public final class TemplateJavaSourceGeneratorMain implements PublicStaticHelper {
+
+    /**
+     * Only files ending with this extension are generated.
+     */
+    public final static String FILE_EXTENSION = ".template";
+
+    /**
+     * Expects the template directory, output directory and package name.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (3 != args.length) {
+            throw new IllegalArgumentException("Expected templateDirectory outputDirectory packageName but got " + args.length + " arguments");
+        }
+
+        generate(
+            Paths.get(args[0]),
+            Paths.get(args[1]),
+            args[2]
+        );
+    }
+
+    /**
+     * Generates a java source file for every template file below the template directory, returning the files written.
+     */
+    public static List<Path> generate(final Path templateDirectory,
+                                      final Path outputDirectory,
+                                      final String packageName) throws IOException {
+        Objects.requireNonNull(templateDirectory, "templateDirectory");
+        Objects.requireNonNull(outputDirectory, "outputDirectory");
+        Objects.requireNonNull(packageName, "packageName");
+
+        final List<Path> templates;
+        try (final Stream<Path> files = Files.walk(templateDirectory)) {
+            templates = files.filter(
+                    (f) -> Files.isRegularFile(f) && f.getFileName().toString().endsWith(FILE_EXTENSION)
+                ).sorted()
+                .collect(Collectors.toList());
+        }
+
+        final List<Path> generated = Lists.array();
+
+        for (final Path template : templates) {
+            final Path relative = templateDirectory.relativize(template);
+            final Path parent = relative.getParent();
+
+            String filePackageName = packageName;
+            Path directory = outputDirectory;
+            for (final String component : packageName.split("\\.")) {
+                directory = directory.resolve(component);
+            }
+            if (null != parent) {
+                for (final Path component : parent) {
+                    filePackageName = filePackageName + "." + component;
+                    directory = directory.resolve(component.toString());
+                }
+            }
+
+            final String className = className(
+                relative.getFileName().toString()
+            );
+
+            final String source;
+            try {
+                source = TemplateJavaSourceGenerator.generate(
+                    parse(
+                        new String(
+                            Files.readAllBytes(template),
+                            StandardCharsets.UTF_8
+                        )
+                    ),
+                    filePackageName,
+                    className
+                );
+            } catch (final IllegalArgumentException cause) {
+                throw new IllegalArgumentException(
+                    template + ": " + cause.getMessage(),
+                    cause
+                );
+            }
+
+            Files.createDirectories(directory);
+
+            final Path file = directory.resolve(className + ".java");
+            Files.write(
+                file,
+                source.getBytes(StandardCharsets.UTF_8)
+            );
+            generated.add(file);
+        }
+
+        return generated;
+    }
+
+    /**
+     * Turns a file name into an upper camel case class name, dropping the extension and any character that is not a
+     * letter or digit, eg <code>welcome-email.template</code> becomes <code>WelcomeEmail</code>.
+     */
+    // @VisibleForTesting
+    static String className(final String fileName) {
+        final StringBuilder b = new StringBuilder();
+        boolean upper = true;
+
+        for (final char c : fileName.substring(0, fileName.length() - FILE_EXTENSION.length()).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                b.append(
+                    upper ?
+                        Character.toUpperCase(c) :
+                        c
+                );
+                upper = false;
+            } else {
+                upper = true;
+            }
+        }
+
+        return b.toString();
+    }
+
+    private static Template parse(final String text) {
+        return TemplateContexts.basic(
+            (final TextCursor expression) -> {
+                throw new IllegalArgumentException("Expressions are not supported");
+            },
+            (n) -> {
+                throw new UnsupportedOperationException();
+            },
+            LineEnding.NL,
+            ExpressionEvaluationContexts.fake()
+        ).parseTemplateString(text);
+    }
+
+    /**
+     * Stop creation
+     */
+    private TemplateJavaSourceGeneratorMain() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.template.url.UrlPathTemplate;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.util.List;
+
+/**
+ * Registers the {@link Template} implementations and {@link UrlPathTemplate} with {@link JsonNodeContext}. Keeping
+ * the marshallers here rather than in each class means rendering never loads the json classes, only
+ * {@link TemplateStartup#init()} loads this class.
+ */
+final class TemplateJson {
+
+    static {
+        JsonNodeContext.register(
+            JsonNodeContext.computeTypeName(StringTemplate.class),
+            TemplateJson::unmarshallStringTemplate,
+            TemplateJson::marshallStringTemplate,
+            StringTemplate.class
+        );
+
+        JsonNodeContext.register(
+            JsonNodeContext.computeTypeName(TemplateValueNameTemplate.class),
+            TemplateJson::unmarshallTemplateValueNameTemplate,
+            TemplateJson::marshallTemplateValueNameTemplate,
+            TemplateValueNameTemplate.class
+        );
+
+        JsonNodeContext.register(
+            JsonNodeContext.computeTypeName(ExpressionTemplate.class),
+            TemplateJson::unmarshallExpressionTemplate,
+            TemplateJson::marshallExpressionTemplate,
+            ExpressionTemplate.class
+        );
+
+        JsonNodeContext.register(
+            JsonNodeContext.computeTypeName(TemplateCollection.class),
+            TemplateJson::unmarshallTemplateCollection,
+            TemplateJson::marshallTemplateCollection,
+            TemplateCollection.class
+        );
+
+        JsonNodeContext.register(
+            JsonNodeContext.computeTypeName(UrlPathTemplate.class),
+            TemplateJson::unmarshallUrlPathTemplate,
+            TemplateJson::marshallUrlPathTemplate,
+            UrlPathTemplate.class
+        );
+    }
+
+    static void init() {
+        // NOP
+    }
+
+    // StringTemplate...................................................................................................
+
+    private static JsonNode marshallStringTemplate(final StringTemplate template,
+                                                   final JsonNodeMarshallContext context) {
+        return context.marshall(
+            template.value()
+        );
+    }
+
+    static StringTemplate unmarshallStringTemplate(final JsonNode node,
+                                                   final JsonNodeUnmarshallContext context) {
+        return StringTemplate.with(
+            context.unmarshall(
+                node,
+                String.class
+            )
+        );
+    }
+
+    // TemplateValueNameTemplate........................................................................................
+
+    private static JsonNode marshallTemplateValueNameTemplate(final TemplateValueNameTemplate template,
+                                                              final JsonNodeMarshallContext context) {
+        return context.marshall(
+            template.value()
+        );
+    }
+
+    static TemplateValueNameTemplate unmarshallTemplateValueNameTemplate(final JsonNode node,
+                                                                         final JsonNodeUnmarshallContext context) {
+        return TemplateValueNameTemplate.with(
+            context.unmarshall(
+                node,
+                TemplateValueName.class
+            )
+        );
+    }
+
+    // ExpressionTemplate...............................................................................................
+
+    private static JsonNode marshallExpressionTemplate(final ExpressionTemplate template,
+                                                       final JsonNodeMarshallContext context) {
+        return context.marshallWithType(
+            template.value()
+        );
+    }
+
+    static ExpressionTemplate unmarshallExpressionTemplate(final JsonNode node,
+                                                           final JsonNodeUnmarshallContext context) {
+        return ExpressionTemplate.with(
+            context.unmarshallWithType(node)
+        );
+    }
+
+    // TemplateCollection...............................................................................................
+
+    /**
+     * Children are marshalled with their type, as they may be any {@link Template}.
+     */
+    private static JsonNode marshallTemplateCollection(final TemplateCollection template,
+                                                       final JsonNodeMarshallContext context) {
+        return context.marshallCollectionWithType(
+            template.value()
+        );
+    }
+
+    /**
+     * Unmarshalls through {@link TemplateCollection#with(List)} so nested collections are flattened. Fewer than two
+     * templates would not produce a {@link TemplateCollection} and are rejected.
+     */
+    static TemplateCollection unmarshallTemplateCollection(final JsonNode node,
+                                                           final JsonNodeUnmarshallContext context) {
+        final List<Template> templates = context.unmarshallListWithType(node);
+        final Template template = TemplateCollection.with(templates);
+
+        if (false == template instanceof TemplateCollection) {
+            throw new IllegalArgumentException("Expected at least 2 templates but got " + templates.size());
+        }
+
+        return (TemplateCollection) template;
+    }
+
+    // UrlPathTemplate..................................................................................................
+
+    private static JsonNode marshallUrlPathTemplate(final UrlPathTemplate template,
+                                                    final JsonNodeMarshallContext context) {
+        return context.marshall(
+            template.toString()
+        );
+    }
+
+    static UrlPathTemplate unmarshallUrlPathTemplate(final JsonNode node,
+                                                     final JsonNodeUnmarshallContext context) {
+        return UrlPathTemplate.parse(
+            context.unmarshall(
+                node,
+                String.class
+            )
+        );
+    }
+
+    private TemplateJson() {
+        throw new UnsupportedOperationException();
+    }
+}
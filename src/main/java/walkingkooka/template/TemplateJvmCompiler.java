@@ -0,0 +1,353 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.Printer;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * A JVM only backend that turns a {@link Template} into a class generated at runtime. The source from
+ * {@link TemplateJavaSourceGenerator} is compiled in memory by the system {@link JavaCompiler} against the locations
+ * the referenced classes were loaded from, so literals become constants and the {@link TemplateCollection} tree is
+ * unrolled into a single render method. Each class is defined by its own {@link ClassLoader}, whose parent is the
+ * loader of {@link Template}, so it may be unloaded once unreferenced.
+ * <br>
+ * When the {@link Template} is not supported by {@link TemplateJavaSourceGenerator}, for example because it holds an
+ * {@link ExpressionTemplate}, or when no compiler is available, {@link Templates#compile(Template)} is returned instead,
+ * and the reason may be observed with {@link #compile(Template, Consumer)}.
+ * This class is not available to J2CL or GWT, where {@link Templates#compile(Template)} should be used.
+ */
+public final class TemplateJvmCompiler implements PublicStaticHelper {
+
+    /**
+     * Returns a generated {@link Template} class instance, or the interpreted {@link Templates#compile(Template)}.
+     */
+    public static Template compile(final Template template) {
+        return compile(
+            template,
+            (r) -> {
+            }
+        );
+    }
+
+    /**
+     * Returns a generated {@link Template} class instance, or the interpreted {@link Templates#compile(Template)} after
+     * passing the reason to the fallback {@link Consumer}, eg an unsupported {@link Template} or the compiler
+     * diagnostics.
+     */
+    public static Template compile(final Template template,
+                                   final Consumer<RuntimeException> fallback) {
+        Objects.requireNonNull(template, "template");
+        Objects.requireNonNull(fallback, "fallback");
+
+        Template compiled;
+        try {
+            compiled = generateClass(template);
+        } catch (final IllegalArgumentException | IllegalStateException unsupported) {
+            fallback.accept(unsupported);
+            compiled = Templates.compile(template);
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Generates, compiles and loads a class for the given {@link Template}, throwing {@link IllegalArgumentException}
+     * if the {@link Template} is not supported or {@link IllegalStateException} if compiling or loading failed.
+     */
+    private static Template generateClass(final Template template) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (null == compiler) {
+            throw new IllegalStateException("Java compiler unavailable");
+        }
+
+        final String className = "Template" + COUNTER.incrementAndGet();
+        final String qualifiedClassName = PACKAGE + "." + className;
+
+        final String source = TemplateJavaSourceGenerator.generate(
+            template,
+            PACKAGE,
+            className
+        );
+
+        final Map<String, ByteArrayOutputStream> classes = Maps.hash();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (final StandardJavaFileManager standard = compiler.getStandardFileManager(
+            diagnostics,
+            null,
+            StandardCharsets.UTF_8
+        )) {
+            final JavaFileManager fileManager = new ForwardingJavaFileManager<>(standard) {
+                @Override
+                public JavaFileObject getJavaFileForOutput(final Location location,
+                                                           final String name,
+                                                           final JavaFileObject.Kind kind,
+                                                           final FileObject sibling) {
+                    return new SimpleJavaFileObject(
+                        URI.create("bytes:///" + name.replace('.', '/') + kind.extension),
+                        kind
+                    ) {
+                        @Override
+                        public OutputStream openOutputStream() {
+                            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                            classes.put(
+                                name,
+                                bytes
+                            );
+                            return bytes;
+                        }
+                    };
+                }
+            };
+
+            final JavaFileObject sourceFile = new SimpleJavaFileObject(
+                URI.create("string:///" + qualifiedClassName.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE
+            ) {
+                @Override
+                public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            };
+
+            final Boolean success = compiler.getTask(
+                null,
+                fileManager,
+                diagnostics,
+                Lists.of(
+                    "-classpath",
+                    classPath(),
+                    "-proc:none",
+                    "-g:none"
+                ),
+                null,
+                Lists.of(sourceFile)
+            ).call();
+
+            if (false == Boolean.TRUE.equals(success)) {
+                throw new IllegalStateException(
+                    "Unable to compile " + qualifiedClassName + "\n" +
+                        diagnostics.getDiagnostics()
+                            .stream()
+                            .map((d) -> d.getLineNumber() + ": " + d.getMessage(Locale.ROOT))
+                            .collect(Collectors.joining("\n"))
+                );
+            }
+        } catch (final IOException cause) {
+            throw new IllegalStateException("Unable to compile " + qualifiedClassName, cause);
+        }
+
+        final ClassLoader loader = new ClassLoader(Template.class.getClassLoader()) {
+            @Override
+            protected Class<?> findClass(final String name) throws ClassNotFoundException {
+                final ByteArrayOutputStream bytes = classes.get(name);
+                if (null == bytes) {
+                    throw new ClassNotFoundException(name);
+                }
+
+                final byte[] b = bytes.toByteArray();
+                return this.defineClass(
+                    name,
+                    b,
+                    0,
+                    b.length
+                );
+            }
+        };
+
+        try {
+            return (Template) Class.forName(
+                qualifiedClassName,
+                true,
+                loader
+            ).getField("INSTANCE")
+                .get(null);
+        } catch (final ReflectiveOperationException | LinkageError cause) {
+            throw new IllegalStateException("Unable to load " + qualifiedClassName, cause);
+        }
+    }
+
+    /**
+     * Builds a class path from the locations the classes referenced by the generated source and their method
+     * signatures were loaded from, so compiling works when those classes come from a loader other than the system
+     * class path, eg in an application server or a shaded jar. The system class path follows as a last resort.
+     */
+    // @VisibleForTesting
+    static String classPath() {
+        final Set<String> paths = new LinkedHashSet<>();
+        final Set<Class<?>> visited = Sets.hash();
+
+        for (final Class<?> type : GENERATED_SOURCE_TYPES) {
+            addClassPath(
+                type,
+                true,
+                visited,
+                paths
+            );
+        }
+
+        for (final String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (false == path.isEmpty()) {
+                paths.add(path);
+            }
+        }
+
+        return String.join(
+            File.pathSeparator,
+            paths
+        );
+    }
+
+    /**
+     * The types imported by the source from {@link TemplateJavaSourceGenerator}.
+     */
+    private final static List<Class<?>> GENERATED_SOURCE_TYPES = Lists.of(
+        Sets.class,
+        Template.class,
+        TemplateContext.class,
+        TemplateValueName.class,
+        CharSequences.class,
+        IndentingPrinter.class,
+        Printer.class
+    );
+
+    /**
+     * Adds the location of the type and its super types, and when members is true the types in its public method
+     * signatures.
+     */
+    private static void addClassPath(final Class<?> type,
+                                     final boolean members,
+                                     final Set<Class<?>> visited,
+                                     final Set<String> paths) {
+        Class<?> t = type;
+        while (t.isArray()) {
+            t = t.getComponentType();
+        }
+
+        if (false == t.isPrimitive() && visited.add(t)) {
+            location(t).ifPresent(paths::add);
+
+            final Class<?> superClass = t.getSuperclass();
+            if (null != superClass) {
+                addClassPath(
+                    superClass,
+                    members,
+                    visited,
+                    paths
+                );
+            }
+            for (final Class<?> superInterface : t.getInterfaces()) {
+                addClassPath(
+                    superInterface,
+                    members,
+                    visited,
+                    paths
+                );
+            }
+
+            if (members) {
+                for (final Method method : t.getMethods()) {
+                    addClassPath(
+                        method.getReturnType(),
+                        false,
+                        visited,
+                        paths
+                    );
+                    for (final Class<?> parameter : method.getParameterTypes()) {
+                        addClassPath(
+                            parameter,
+                            false,
+                            visited,
+                            paths
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The file or directory the class was loaded from, JDK classes have no location.
+     */
+    private static Optional<String> location(final Class<?> type) {
+        String location = null;
+
+        try {
+            final CodeSource codeSource = type.getProtectionDomain()
+                .getCodeSource();
+            if (null != codeSource && null != codeSource.getLocation()) {
+                location = Paths.get(
+                    codeSource.getLocation()
+                        .toURI()
+                ).toString();
+            }
+        } catch (final SecurityException | URISyntaxException | IllegalArgumentException | FileSystemNotFoundException ignore) {
+            // not a file, the system class path may still work
+        }
+
+        return Optional.ofNullable(location);
+    }
+
+    private final static String PACKAGE = "walkingkooka.template.generated";
+
+    private final static AtomicLong COUNTER = new AtomicLong();
+
+    /**
+     * Stop creation
+     */
+    private TemplateJvmCompiler() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.text.LineEnding;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded cache of rendered text, keyed by {@link Template} identity and the
+ * {@link TemplateContext#templateValueKey(TemplateValueName)} of the names in {@link Template#templateValueNames()},
+ * so values for names that are not referenced never cause a miss. Entries are evicted least recently used first once
+ * the total characters held exceeds a maximum, and expire after a time to live.
+ * Rendering happens outside the lock, so concurrent misses for the same key may both render. The same cache may be
+ * shared by many {@link Templates#cache(Template, TemplateRenderCache)} fragments.
+ */
+public final class TemplateRenderCache {
+
+    public static TemplateRenderCache with(final int maxCharacters,
+                                           final long timeToLive,
+                                           final LongSupplier now) {
+        if (maxCharacters <= 0) {
+            throw new IllegalArgumentException("Invalid maxCharacters " + maxCharacters + " <= 0");
+        }
+        if (timeToLive <= 0) {
+            throw new IllegalArgumentException("Invalid timeToLive " + timeToLive + " <= 0");
+        }
+
+        return new TemplateRenderCache(
+            maxCharacters,
+            timeToLive,
+            Objects.requireNonNull(now, "now")
+        );
+    }
+
+    private TemplateRenderCache(final int maxCharacters,
+                                final long timeToLive,
+                                final LongSupplier now) {
+        this.maxCharacters = maxCharacters;
+        this.timeToLive = timeToLive;
+        this.now = now;
+    }
+
+    /**
+     * Returns the previously rendered text if the {@link TemplateContext#templateValueKey(TemplateValueName)} for all
+     * referenced names are the same, otherwise renders the {@link Template} with the given {@link TemplateContext} and
+     * caches the result.
+     */
+    public String renderToString(final Template template,
+                                 final LineEnding lineEnding,
+                                 final TemplateContext context) {
+        Objects.requireNonNull(template, "template");
+        Objects.requireNonNull(lineEnding, "lineEnding");
+        Objects.requireNonNull(context, "context");
+
+        return this.renderToString(
+            template,
+            TemplateValueNameSet.with(
+                template.templateValueNames()
+            ),
+            lineEnding,
+            context
+        );
+    }
+
+    /**
+     * Shared with {@link CacheTemplate} which computes the {@link TemplateValueNameSet} once.
+     */
+    String renderToString(final Template template,
+                          final TemplateValueNameSet names,
+                          final LineEnding lineEnding,
+                          final TemplateContext context) {
+        final int count = names.size();
+        final Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = context.templateValueKey(
+                names.get(i)
+            );
+        }
+
+        final TemplateRenderCacheKey key = TemplateRenderCacheKey.with(
+            template,
+            lineEnding,
+            values
+        );
+
+        String rendered = this.get(key);
+        if (null == rendered) {
+            rendered = template.renderToString(
+                lineEnding,
+                context
+            );
+
+            this.put(
+                key,
+                rendered
+            );
+        }
+
+        return rendered;
+    }
+
+    /**
+     * Returns the cached text or null if absent or expired, updating the statistics.
+     */
+    synchronized String get(final TemplateRenderCacheKey key) {
+        String rendered = null;
+
+        final TemplateRenderCacheEntry entry = this.entries.get(key);
+        if (null != entry) {
+            if (entry.expires > this.now.getAsLong()) {
+                rendered = entry.rendered;
+            } else {
+                this.remove(key, entry);
+                this.expirations++;
+            }
+        }
+
+        if (null != rendered) {
+            this.hits++;
+        } else {
+            this.misses++;
+        }
+
+        return rendered;
+    }
+
+    /**
+     * Adds or replaces the rendered text, evicting the least recently used entries until within the maximum characters.
+     */
+    synchronized void put(final TemplateRenderCacheKey key,
+                          final String rendered) {
+        final TemplateRenderCacheEntry entry = new TemplateRenderCacheEntry(
+            rendered,
+            key.characters() + rendered.length(),
+            this.now.getAsLong() + this.timeToLive
+        );
+
+        final TemplateRenderCacheEntry previous = this.entries.put(
+            key,
+            entry
+        );
+        if (null != previous) {
+            this.characters -= previous.characters;
+        }
+        this.characters += entry.characters;
+
+        final Iterator<Entry<TemplateRenderCacheKey, TemplateRenderCacheEntry>> iterator = this.entries.entrySet()
+            .iterator();
+        while (this.characters > this.maxCharacters && iterator.hasNext()) {
+            final TemplateRenderCacheEntry eldest = iterator.next()
+                .getValue();
+            iterator.remove();
+
+            this.characters -= eldest.characters;
+            this.evictions++;
+        }
+    }
+
+    private void remove(final TemplateRenderCacheKey key,
+                        final TemplateRenderCacheEntry entry) {
+        this.entries.remove(key);
+        this.characters -= entry.characters;
+    }
+
+    /**
+     * Removes all cached entries, the statistics are not reset.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.characters = 0;
+    }
+
+    /**
+     * Entries in least recently used order.
+     */
+    private final Map<TemplateRenderCacheKey, TemplateRenderCacheEntry> entries = new LinkedHashMap<>(
+        16,
+        0.75f,
+        true
+    );
+
+    private final int maxCharacters;
+
+    private final long timeToLive;
+
+    private final LongSupplier now;
+
+    // statistics.......................................................................................................
+
+    /**
+     * The number of cached entries.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * The total characters held by all cached entries.
+     */
+    public synchronized long characters() {
+        return this.characters;
+    }
+
+    private long characters;
+
+    public synchronized long hits() {
+        return this.hits;
+    }
+
+    private long hits;
+
+    public synchronized long misses() {
+        return this.misses;
+    }
+
+    private long misses;
+
+    /**
+     * The number of entries removed to stay within the maximum characters.
+     */
+    public synchronized long evictions() {
+        return this.evictions;
+    }
+
+    private long evictions;
+
+    /**
+     * The number of entries removed because their time to live passed.
+     */
+    public synchronized long expirations() {
+        return this.expirations;
+    }
+
+    private long expirations;
+
+    /**
+     * Returns the ratio of hits to all lookups, or zero if there have been no lookups.
+     */
+    public synchronized double hitRatio() {
+        final long lookups = this.hits + this.misses;
+        return 0 == lookups ?
+            0 :
+            (double) this.hits / lookups;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public synchronized String toString() {
+        return "size=" + this.entries.size() +
+            " characters=" + this.characters +
+            " hits=" + this.hits +
+            " misses=" + this.misses +
+            " evictions=" + this.evictions +
+            " expirations=" + this.expirations;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+/**
+ * A {@link TemplateRenderCache} value holding the rendered text.
+ */
+final class TemplateRenderCacheEntry {
+
+    TemplateRenderCacheEntry(final String rendered,
+                             final int characters,
+                             final long expires) {
+        this.rendered = rendered;
+        this.characters = characters;
+        this.expires = expires;
+    }
+
+    final String rendered;
+
+    /**
+     * The size of this entry, including the characters of the key values.
+     */
+    final int characters;
+
+    final long expires;
+
+    @Override
+    public String toString() {
+        return this.rendered;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.text.LineEnding;
+
+import java.util.Arrays;
+
+/**
+ * The key for a {@link TemplateRenderCache} entry, holding the {@link Template} identity and the values of its
+ * {@link Template#templateValueNames()} in slot order.
+ */
+final class TemplateRenderCacheKey {
+
+    static TemplateRenderCacheKey with(final Template template,
+                                       final LineEnding lineEnding,
+                                       final Object[] values) {
+        return new TemplateRenderCacheKey(
+            template,
+            lineEnding,
+            values
+        );
+    }
+
+    private TemplateRenderCacheKey(final Template template,
+                                   final LineEnding lineEnding,
+                                   final Object[] values) {
+        this.template = template;
+        this.lineEnding = lineEnding;
+        this.values = values;
+
+        this.hashCode = System.identityHashCode(template) ^
+            lineEnding.hashCode() ^
+            Arrays.hashCode(values);
+    }
+
+    /**
+     * The number of characters in all text values, used to measure the size of a cache entry. Other values such as
+     * {@link Template templates} are shared with the {@link TemplateContext} and are not counted.
+     */
+    int characters() {
+        int characters = 0;
+
+        for (final Object value : this.values) {
+            if (value instanceof CharSequence) {
+                characters += ((CharSequence) value).length();
+            }
+        }
+
+        return characters;
+    }
+
+    private final Template template;
+
+    private final LineEnding lineEnding;
+
+    private final Object[] values;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    private final int hashCode;
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof TemplateRenderCacheKey && this.equals0((TemplateRenderCacheKey) other);
+    }
+
+    private boolean equals0(final TemplateRenderCacheKey other) {
+        return this.template == other.template &&
+            this.lineEnding.equals(other.lineEnding) &&
+            Arrays.equals(this.values, other.values);
+    }
+
+    @Override
+    public String toString() {
+        return this.template + " " + Arrays.toString(this.values);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.LineEnding;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Retains the rendered text of each top level segment of a {@link Template} along with the
+ * {@link TemplateValueName names} it depends on, so that when some values change only the affected segments are
+ * rendered again and returned as {@link TemplateRetainedRenderChange changes} to the previous output. Dependencies
+ * include names reached through sub-templates returned by the nameToTemplate {@link Function} given to
+ * {@link TemplateContexts#basic}, a render only {@link TemplateContext} should use a {@link Function} that always
+ * returns null. This is intended for live previews of large templates, and is not thread safe.
+ */
+public final class TemplateRetainedRender {
+
+    public static TemplateRetainedRender with(final Template template,
+                                              final Function<TemplateValueName, Template> nameToTemplate,
+                                              final LineEnding lineEnding) {
+        return new TemplateRetainedRender(
+            Objects.requireNonNull(template, "template"),
+            Objects.requireNonNull(nameToTemplate, "nameToTemplate"),
+            Objects.requireNonNull(lineEnding, "lineEnding")
+        );
+    }
+
+    private TemplateRetainedRender(final Template template,
+                                   final Function<TemplateValueName, Template> nameToTemplate,
+                                   final LineEnding lineEnding) {
+        this.template = template;
+        this.lineEnding = lineEnding;
+
+        final Template[] segments;
+        if (template instanceof TemplateCollection) {
+            final List<Template> templates = ((TemplateCollection) template).value();
+            segments = templates.toArray(new Template[0]);
+        } else {
+            segments = new Template[]{
+                template
+            };
+        }
+
+        final int count = segments.length;
+        final TemplateValueNameSet[] names = new TemplateValueNameSet[count];
+        for (int i = 0; i < count; i++) {
+            final TemplateValueNameGraph graph = TemplateValueNameGraph.with(
+                segments[i],
+                nameToTemplate
+            );
+            graph.failIfCycles();
+
+            names[i] = TemplateValueNameSet.with(
+                graph.dependencies()
+                    .keySet()
+            );
+        }
+
+        this.segments = segments;
+        this.names = names;
+        this.rendered = new String[count];
+    }
+
+    /**
+     * Renders all segments, remembering each segment's text.
+     */
+    public String render(final TemplateContext context) {
+        Objects.requireNonNull(context, "context");
+
+        final String[] rendered = this.rendered;
+
+        for (int i = 0; i < rendered.length; i++) {
+            rendered[i] = this.renderSegment(
+                i,
+                context
+            );
+        }
+
+        this.text = null;
+        return this.text();
+    }
+
+    /**
+     * Renders again only those segments that depend on one of the changed {@link TemplateValueName}, returning the
+     * ranges of the previous text that were replaced. The complete text is only built when {@link #text()} is called.
+     */
+    public List<TemplateRetainedRenderChange> update(final Set<TemplateValueName> changed,
+                                                     final TemplateContext context) {
+        Objects.requireNonNull(changed, "changed");
+        Objects.requireNonNull(context, "context");
+
+        final TemplateValueNameSet[] names = this.names;
+        final String[] rendered = this.rendered;
+
+        if (null == rendered[0]) {
+            throw new IllegalStateException("Render required before update");
+        }
+
+        final List<TemplateRetainedRenderChange> changes = Lists.array();
+        int offset = 0;
+
+        for (int i = 0; i < names.length; i++) {
+            final String previous = rendered[i];
+            String segment = previous;
+
+            if (isAffected(names[i], changed)) {
+                segment = this.renderSegment(
+                    i,
+                    context
+                );
+
+                if (false == segment.equals(previous)) {
+                    changes.add(
+                        TemplateRetainedRenderChange.with(
+                            offset,
+                            previous.length(),
+                            segment
+                        )
+                    );
+                    rendered[i] = segment;
+                }
+            }
+
+            offset += segment.length();
+        }
+
+        if (false == changes.isEmpty()) {
+            this.text = null;
+        }
+
+        return changes;
+    }
+
+    /**
+     * Returns the complete rendered text, joining the segments only after they have changed.
+     */
+    public String text() {
+        String text = this.text;
+
+        if (null == text) {
+            final String[] rendered = this.rendered;
+            if (null == rendered[0]) {
+                throw new IllegalStateException("Render required before text");
+            }
+
+            text = String.join(
+                "",
+                rendered
+            );
+            this.text = text;
+        }
+
+        return text;
+    }
+
+    private static boolean isAffected(final TemplateValueNameSet names,
+                                      final Set<TemplateValueName> changed) {
+        boolean affected = false;
+
+        if (false == names.isEmpty()) {
+            for (final TemplateValueName name : changed) {
+                if (names.contains(name)) {
+                    affected = true;
+                    break;
+                }
+            }
+        }
+
+        return affected;
+    }
+
+    private String renderSegment(final int index,
+                                 final TemplateContext context) {
+        return this.segments[index].renderToString(
+            this.lineEnding,
+            context
+        );
+    }
+
+    /**
+     * The top level segments, for a {@link TemplateCollection} this will be its children.
+     */
+    private final Template[] segments;
+
+    /**
+     * The {@link TemplateValueName} each segment depends on, including those reached through sub-templates.
+     */
+    private final TemplateValueNameSet[] names;
+
+    /**
+     * The last rendered text for each segment.
+     */
+    private final String[] rendered;
+
+    /**
+     * The complete rendered text, null until {@link #text()} is called after a change.
+     */
+    private String text;
+
+    private final LineEnding lineEnding;
+
+    private final Template template;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.template.toString();
+    }
+}
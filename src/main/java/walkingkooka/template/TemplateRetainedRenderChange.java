@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.text.CharSequences;
+
+import java.util.Objects;
+
+/**
+ * A range of text replaced by {@link TemplateRetainedRender#update(java.util.Set, TemplateContext)}. The offset
+ * includes the effect of any earlier changes returned by the same update, so changes may be applied in order to the
+ * previous text, eg by a live preview that only patches what changed.
+ */
+public final class TemplateRetainedRenderChange {
+
+    static TemplateRetainedRenderChange with(final int offset,
+                                             final int length,
+                                             final String text) {
+        return new TemplateRetainedRenderChange(
+            offset,
+            length,
+            text
+        );
+    }
+
+    private TemplateRetainedRenderChange(final int offset,
+                                         final int length,
+                                         final String text) {
+        this.offset = offset;
+        this.length = length;
+        this.text = text;
+    }
+
+    /**
+     * The start of the replaced text.
+     */
+    public int offset() {
+        return this.offset;
+    }
+
+    private final int offset;
+
+    /**
+     * The length of the replaced text.
+     */
+    public int length() {
+        return this.length;
+    }
+
+    private final int length;
+
+    /**
+     * The new text.
+     */
+    public String text() {
+        return this.text;
+    }
+
+    private final String text;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.offset,
+            this.length,
+            this.text
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof TemplateRetainedRenderChange && this.equals0((TemplateRetainedRenderChange) other);
+    }
+
+    private boolean equals0(final TemplateRetainedRenderChange other) {
+        return this.offset == other.offset &&
+            this.length == other.length &&
+            this.text.equals(other.text);
+    }
+
+    @Override
+    public String toString() {
+        return this.offset + " " + this.length + " " + CharSequences.quoteAndEscape(this.text);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.StaticHelper;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionEvaluationContext;
+import walkingkooka.tree.expression.ExpressionReference;
+import walkingkooka.tree.expression.ReferenceExpression;
+import walkingkooka.tree.expression.ValueExpression;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Partially evaluates a {@link Template} against some known values, replacing each {@link TemplateValueNameTemplate}
+ * with a known value. Within each {@link ExpressionTemplate} every {@link ReferenceExpression} to a known
+ * {@link TemplateValueName} is replaced by a {@link ValueExpression} holding the known value, and an expression that
+ * is then only a {@link String} constant becomes a {@link StringTemplate}. Adjacent {@link StringTemplate} are then
+ * merged, leaving a smaller residual {@link Template} whose {@link Template#templateValueNames()} only holds unknown
+ * names. When an {@link ExpressionEvaluationContext} is given, expressions without any remaining references are
+ * evaluated into a {@link StringTemplate}.
+ */
+final class TemplateSpecialiser implements StaticHelper {
+
+    static Template specialise(final Template template,
+                               final Map<TemplateValueName, String> knownValues) {
+        Objects.requireNonNull(template, "template");
+        Objects.requireNonNull(knownValues, "knownValues");
+
+        return specialise0(
+            template,
+            knownValues,
+            null // expressions are not evaluated
+        );
+    }
+
+    /**
+     * Also evaluates each {@link Expression} that holds no references once known values are substituted, eg
+     * <code>${brand + " Support"}</code> when brand is known, into a {@link StringTemplate}. Functions within those
+     * expressions should be pure, as they are evaluated once here rather than on every render.
+     */
+    static Template specialise(final Template template,
+                               final Map<TemplateValueName, String> knownValues,
+                               final ExpressionEvaluationContext context) {
+        Objects.requireNonNull(template, "template");
+        Objects.requireNonNull(knownValues, "knownValues");
+        Objects.requireNonNull(context, "context");
+
+        return specialise0(
+            template,
+            knownValues,
+            context
+        );
+    }
+
+    /**
+     * The {@link ExpressionEvaluationContext} will be null when expressions should not be evaluated.
+     */
+    private static Template specialise0(final Template template,
+                                        final Map<TemplateValueName, String> knownValues,
+                                        final ExpressionEvaluationContext context) {
+        final Template specialised;
+
+        if (template instanceof TemplateCollection) {
+            specialised = specialiseCollection(
+                (TemplateCollection) template,
+                knownValues,
+                context
+            );
+        } else {
+            if (template instanceof TemplateValueNameTemplate) {
+                final String value = knownValues.get(
+                    ((TemplateValueNameTemplate) template).value()
+                );
+                specialised = null != value ?
+                    Templates.string(value) :
+                    template;
+            } else {
+                if (template instanceof ExpressionTemplate) {
+                    specialised = specialiseExpression(
+                        (ExpressionTemplate) template,
+                        knownValues,
+                        context
+                    );
+                } else {
+                    specialised = template;
+                }
+            }
+        }
+
+        return specialised;
+    }
+
+    private static Template specialiseCollection(final TemplateCollection collection,
+                                                 final Map<TemplateValueName, String> knownValues,
+                                                 final ExpressionEvaluationContext context) {
+        final List<Template> templates = Lists.array();
+        final StringBuilder text = new StringBuilder();
+
+        for (final Template child : collection.value()) {
+            final Template specialised = specialise0(
+                child,
+                knownValues,
+                context
+            );
+
+            if (specialised instanceof StringTemplate) {
+                text.append(
+                    ((StringTemplate) specialised).value()
+                );
+            } else {
+                addTextIfNotEmpty(
+                    text,
+                    templates
+                );
+                templates.add(specialised);
+            }
+        }
+
+        addTextIfNotEmpty(
+            text,
+            templates
+        );
+
+        return Templates.collection(templates);
+    }
+
+    private static void addTextIfNotEmpty(final StringBuilder text,
+                                          final List<Template> templates) {
+        if (text.length() > 0) {
+            templates.add(
+                Templates.string(
+                    text.toString()
+                )
+            );
+            text.setLength(0);
+        }
+    }
+
+    /**
+     * Substitutes known values into the {@link Expression}, which is then only evaluated if an
+     * {@link ExpressionEvaluationContext} is present and no references remain.
+     */
+    private static Template specialiseExpression(final ExpressionTemplate template,
+                                                 final Map<TemplateValueName, String> knownValues,
+                                                 final ExpressionEvaluationContext context) {
+        final Template specialised;
+
+        final Expression expression = template.value();
+        final Expression substituted = substitute(
+            expression,
+            knownValues
+        );
+
+        if (substituted instanceof ValueExpression && ((ValueExpression) substituted).value() instanceof String) {
+            specialised = Templates.string(
+                (String) ((ValueExpression) substituted).value()
+            );
+        } else {
+            if (null != context && false == hasReferences(substituted)) {
+                specialised = Templates.string(
+                    TemplateContextExpressionEvaluation.evaluateAsString(
+                        substituted,
+                        context
+                    )
+                );
+            } else {
+                specialised = expression == substituted ?
+                    template :
+                    Templates.expression(substituted);
+            }
+        }
+
+        return specialised;
+    }
+
+    private static boolean hasReferences(final Expression expression) {
+        boolean references = expression instanceof ReferenceExpression;
+
+        if (false == references) {
+            for (final Expression child : expression.children()) {
+                references = hasReferences(child);
+                if (references) {
+                    break;
+                }
+            }
+        }
+
+        return references;
+    }
+
+    /**
+     * Replaces each {@link ReferenceExpression} to a known {@link TemplateValueName} with a {@link ValueExpression},
+     * returning the original {@link Expression} if nothing was replaced.
+     */
+    private static Expression substitute(final Expression expression,
+                                         final Map<TemplateValueName, String> knownValues) {
+        Expression substituted = expression;
+
+        if (expression instanceof ReferenceExpression) {
+            final ExpressionReference reference = ((ReferenceExpression) expression).value();
+            if (reference instanceof TemplateValueName) {
+                final String value = knownValues.get(reference);
+                if (null != value) {
+                    substituted = Expression.value(value);
+                }
+            }
+        } else {
+            final List<Expression> children = expression.children();
+            if (false == children.isEmpty()) {
+                final List<Expression> substitutedChildren = Lists.array();
+                boolean changed = false;
+
+                for (final Expression child : children) {
+                    final Expression substitutedChild = substitute(
+                        child,
+                        knownValues
+                    );
+                    substitutedChildren.add(substitutedChild);
+                    changed |= child != substitutedChild;
+                }
+
+                if (changed) {
+                    substituted = expression.setChildren(substitutedChildren);
+                }
+            }
+        }
+
+        return substituted;
+    }
+
+    /**
+     * Stop creation
+     */
+    private TemplateSpecialiser() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -22,7 +22,8 @@ import walkingkooka.tree.json.TreeJsonStartup;
 import walkingkooka.tree.json.marshall.JsonNodeContext;
 
 /**
- * Used to force all values types to {@link JsonNodeContext#register}
+ * Used to force all values types to {@link JsonNodeContext#register}. Rendering does not need this, only code that
+ * marshalls or unmarshalls templates.
  */
 public final class TemplateStartup implements PublicStaticHelper {
 
@@ -31,6 +32,8 @@ public final class TemplateStartup implements PublicStaticHelper {
 
         // register json marshallers/unmarshallers.
         TemplateValueName.with("Hello");
+
+        TemplateJson.init();
     }
 
     public static void init() {
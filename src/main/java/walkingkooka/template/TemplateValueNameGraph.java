@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link TemplateValueName} dependency graph for a root {@link Template}, following each name through the
+ * nameToTemplate {@link Function} given to {@link TemplateContexts#basic}. Names without a sub-template are values,
+ * which must be supplied by other means. The graph is built once, reporting any cycles, the maximum depth and a
+ * topological order, without rendering anything.
+ */
+public final class TemplateValueNameGraph {
+
+    public static TemplateValueNameGraph with(final Template root,
+                                              final Function<TemplateValueName, Template> nameToTemplate) {
+        return new TemplateValueNameGraph(
+            Objects.requireNonNull(root, "root"),
+            Objects.requireNonNull(nameToTemplate, "nameToTemplate")
+        );
+    }
+
+    private TemplateValueNameGraph(final Template root,
+                                   final Function<TemplateValueName, Template> nameToTemplate) {
+        this.root = root;
+
+        final Map<TemplateValueName, Integer> depths = Maps.sorted();
+        final List<TemplateValueName> path = Lists.array();
+
+        int maxDepth = 0;
+        for (final TemplateValueName name : root.templateValueNames()) {
+            maxDepth = Math.max(
+                maxDepth,
+                this.visit(
+                    name,
+                    nameToTemplate,
+                    depths,
+                    path
+                )
+            );
+        }
+
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Visits the given {@link TemplateValueName} and its dependencies depth first, returning its depth.
+     */
+    private int visit(final TemplateValueName name,
+                      final Function<TemplateValueName, Template> nameToTemplate,
+                      final Map<TemplateValueName, Integer> depths,
+                      final List<TemplateValueName> path) {
+        final Integer visited = depths.get(name);
+        if (null != visited) {
+            return visited;
+        }
+
+        final int pathIndex = path.indexOf(name);
+        if (-1 != pathIndex) {
+            final List<TemplateValueName> cycle = Lists.array();
+            cycle.addAll(
+                path.subList(
+                    pathIndex,
+                    path.size()
+                )
+            );
+            cycle.add(name);
+
+            this.cycles.add(
+                Lists.immutable(cycle)
+            );
+            return 0;
+        }
+
+        path.add(name);
+
+        int depth = 0;
+
+        final Set<TemplateValueName> dependencies;
+        final Template template = nameToTemplate.apply(name);
+        if (null == template) {
+            this.values.add(name);
+            dependencies = TemplateValueNameSet.EMPTY;
+        } else {
+            this.templates.put(
+                name,
+                template
+            );
+            dependencies = template.templateValueNames();
+
+            for (final TemplateValueName dependency : dependencies) {
+                depth = Math.max(
+                    depth,
+                    this.visit(
+                        dependency,
+                        nameToTemplate,
+                        depths,
+                        path
+                    )
+                );
+            }
+        }
+
+        this.dependencies.put(
+            name,
+            dependencies
+        );
+
+        path.remove(path.size() - 1);
+
+        depth++;
+        depths.put(
+            name,
+            depth
+        );
+        this.order.add(name);
+
+        return depth;
+    }
+
+    /**
+     * The root {@link Template}.
+     */
+    public Template root() {
+        return this.root;
+    }
+
+    private final Template root;
+
+    /**
+     * All {@link TemplateValueName} with a sub-template.
+     */
+    public Map<TemplateValueName, Template> templates() {
+        return Collections.unmodifiableMap(this.templates);
+    }
+
+    private final Map<TemplateValueName, Template> templates = Maps.sorted();
+
+    /**
+     * All {@link TemplateValueName} without a sub-template, these values will need to be supplied when rendering.
+     */
+    public Set<TemplateValueName> values() {
+        return Collections.unmodifiableSet(this.values);
+    }
+
+    private final Set<TemplateValueName> values = SortedSets.tree();
+
+    /**
+     * The {@link TemplateValueName} directly referenced by each {@link TemplateValueName}.
+     */
+    public Map<TemplateValueName, Set<TemplateValueName>> dependencies() {
+        return Collections.unmodifiableMap(this.dependencies);
+    }
+
+    private final Map<TemplateValueName, Set<TemplateValueName>> dependencies = Maps.sorted();
+
+    /**
+     * Any cycles, each cycle starts and ends with the same {@link TemplateValueName}.
+     */
+    public List<List<TemplateValueName>> cycles() {
+        return Collections.unmodifiableList(this.cycles);
+    }
+
+    private final List<List<TemplateValueName>> cycles = Lists.array();
+
+    /**
+     * Returns true if no cycles were found.
+     */
+    public boolean isAcyclic() {
+        return this.cycles.isEmpty();
+    }
+
+    /**
+     * Throws a {@link IllegalStateException} reporting the first cycle if any were found.
+     */
+    public void failIfCycles() {
+        if (false == this.isAcyclic()) {
+            // Cycle detected \"Abc\" -> \"Def\" -> \"Ghi\" -> \"Abc\"
+            throw new IllegalStateException(
+                "Cycle detected " +
+                    this.cycles.get(0)
+                        .stream()
+                        .map(TemplateValueName::nameInQuotes)
+                        .collect(Collectors.joining(" -> "))
+            );
+        }
+    }
+
+    /**
+     * The longest chain of {@link TemplateValueName} from the root {@link Template}, where a name without a
+     * sub-template counts as one.
+     */
+    public int maxDepth() {
+        return this.maxDepth;
+    }
+
+    private final int maxDepth;
+
+    /**
+     * Returns all {@link TemplateValueName} ordered so that each appears after all of its dependencies.
+     */
+    public List<TemplateValueName> topologicalOrder() {
+        this.failIfCycles();
+
+        return Collections.unmodifiableList(this.order);
+    }
+
+    private final List<TemplateValueName> order = Lists.array();
+
+    // link.............................................................................................................
+
+    /**
+     * Returns a single flattened {@link Template} where each {@link TemplateValueName} with a sub-template is replaced
+     * by that linked sub-template, so rendering performs no name resolution for those names. Values and names
+     * referenced within an {@link walkingkooka.tree.expression.Expression} are still resolved by the
+     * {@link TemplateContext} when rendered.
+     */
+    public Template link() {
+        this.failIfCycles();
+
+        return this.link(
+            this.root,
+            Maps.sorted()
+        );
+    }
+
+    private Template link(final Template template,
+                          final Map<TemplateValueName, Template> linked) {
+        final Template result;
+
+        if (template instanceof TemplateCollection) {
+            final List<Template> templates = Lists.array();
+
+            for (final Template child : ((TemplateCollection) template).value()) {
+                templates.add(
+                    this.link(
+                        child,
+                        linked
+                    )
+                );
+            }
+
+            result = Templates.collection(templates);
+        } else {
+            if (template instanceof TemplateValueNameTemplate) {
+                final TemplateValueName name = ((TemplateValueNameTemplate) template).value();
+                final Template subTemplate = this.templates.get(name);
+
+                if (null != subTemplate) {
+                    Template linkedSubTemplate = linked.get(name);
+                    if (null == linkedSubTemplate) {
+                        linkedSubTemplate = this.link(
+                            subTemplate,
+                            linked
+                        );
+                        linked.put(
+                            name,
+                            linkedSubTemplate
+                        );
+                    }
+                    result = linkedSubTemplate;
+                } else {
+                    result = template;
+                }
+            } else {
+                result = template;
+            }
+        }
+
+        return result;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.dependencies.toString();
+    }
+}
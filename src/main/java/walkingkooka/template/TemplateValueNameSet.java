@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * An immutable {@link java.util.Set} of {@link TemplateValueName} backed by a sorted array. Each {@link Template}
+ * computes its {@link Template#templateValueNames()} once into one of these, and because the array is only assigned in
+ * the constructor to a final field instances are safely published across threads.
+ */
+final class TemplateValueNameSet extends AbstractSet<TemplateValueName> {
+
+    /**
+     * Empty singleton.
+     */
+    final static TemplateValueNameSet EMPTY = new TemplateValueNameSet(new TemplateValueName[0]);
+
+    static TemplateValueNameSet of(final TemplateValueName name) {
+        Objects.requireNonNull(name, "name");
+
+        return new TemplateValueNameSet(
+            new TemplateValueName[]{
+                name
+            }
+        );
+    }
+
+    /**
+     * Sorts and removes any duplicates from the given names.
+     */
+    static TemplateValueNameSet with(final Collection<TemplateValueName> names) {
+        Objects.requireNonNull(names, "names");
+
+        final TemplateValueNameSet set;
+
+        if (names instanceof TemplateValueNameSet) {
+            set = (TemplateValueNameSet) names;
+        } else {
+            final TemplateValueName[] array = names.toArray(new TemplateValueName[0]);
+            Arrays.sort(array);
+
+            int count = 0;
+            for (final TemplateValueName name : array) {
+                if (0 == count || false == name.equals(array[count - 1])) {
+                    array[count] = name;
+                    count++;
+                }
+            }
+
+            set = 0 == count ?
+                EMPTY :
+                new TemplateValueNameSet(
+                    count == array.length ?
+                        array :
+                        Arrays.copyOf(array, count)
+                );
+        }
+
+        return set;
+    }
+
+    private TemplateValueNameSet(final TemplateValueName[] names) {
+        this.names = names;
+    }
+
+    /**
+     * Returns the slot or index of the given {@link TemplateValueName} or a negative value if absent.
+     */
+    int indexOf(final TemplateValueName name) {
+        return Arrays.binarySearch(
+            this.names,
+            name
+        );
+    }
+
+    /**
+     * Returns the {@link TemplateValueName} at the given slot.
+     */
+    TemplateValueName get(final int index) {
+        return this.names[index];
+    }
+
+    @Override
+    public boolean contains(final Object other) {
+        return other instanceof TemplateValueName &&
+            this.indexOf((TemplateValueName) other) >= 0;
+    }
+
+    @Override
+    public Iterator<TemplateValueName> iterator() {
+        return Arrays.asList(this.names)
+            .iterator();
+    }
+
+    @Override
+    public int size() {
+        return this.names.length;
+    }
+
+    private final TemplateValueName[] names;
+}
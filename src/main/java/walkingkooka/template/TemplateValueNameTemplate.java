@@ -17,7 +17,6 @@
 
 package walkingkooka.template;
 
-import walkingkooka.collect.set.Sets;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.Printer;
 
@@ -37,6 +36,7 @@ final class TemplateValueNameTemplate implements Template {
 
     private TemplateValueNameTemplate(final TemplateValueName name) {
         this.name = name;
+        this.templateValueNames = TemplateValueNameSet.of(name);
     }
 
     @Override
@@ -52,9 +52,11 @@ final class TemplateValueNameTemplate implements Template {
 
     @Override
     public Set<TemplateValueName> templateValueNames() {
-        return Sets.of(this.name);
+        return this.templateValueNames;
     }
 
+    private final TemplateValueNameSet templateValueNames;
+
     // Value............................................................................................................
 
     @Override
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.template.url.UrlPathTemplateValues;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies that a value is present for every {@link TemplateValueName} required by a {@link Template}, before it is
+ * rendered. The required names are held in a sorted array, where each index is the slot for a name, and the successful
+ * path where no names are missing does not allocate.
+ */
+public final class TemplateValueNamesValidator {
+
+    static TemplateValueNamesValidator with(final Set<TemplateValueName> names) {
+        return new TemplateValueNamesValidator(
+            TemplateValueNameSet.with(names)
+        );
+    }
+
+    private TemplateValueNamesValidator(final TemplateValueNameSet names) {
+        this.names = names;
+    }
+
+    /**
+     * Returns any {@link TemplateValueName} missing a value in the given {@link Map}.
+     */
+    public Set<TemplateValueName> missing(final Map<TemplateValueName, ?> values) {
+        Objects.requireNonNull(values, "values");
+
+        final TemplateValueNameSet names = this.names;
+        final int count = names.size();
+
+        List<TemplateValueName> missing = null;
+
+        for (int i = 0; i < count; i++) {
+            final TemplateValueName name = names.get(i);
+
+            if (null == values.get(name)) {
+                if (null == missing) {
+                    missing = Lists.array();
+                }
+                missing.add(name);
+            }
+        }
+
+        return toSet(missing);
+    }
+
+    /**
+     * Returns any {@link TemplateValueName} missing a value in the given {@link UrlPathTemplateValues}.
+     */
+    public Set<TemplateValueName> missing(final UrlPathTemplateValues values) {
+        Objects.requireNonNull(values, "values");
+
+        final TemplateValueNameSet names = this.names;
+        final int count = names.size();
+
+        List<TemplateValueName> missing = null;
+
+        for (int i = 0; i < count; i++) {
+            final TemplateValueName name = names.get(i);
+
+            if (false == values.contains(name)) {
+                if (null == missing) {
+                    missing = Lists.array();
+                }
+                missing.add(name);
+            }
+        }
+
+        return toSet(missing);
+    }
+
+    private static Set<TemplateValueName> toSet(final List<TemplateValueName> missing) {
+        return null == missing ?
+            TemplateValueNameSet.EMPTY :
+            TemplateValueNameSet.with(missing);
+    }
+
+    /**
+     * Throws a {@link IllegalArgumentException} if any {@link TemplateValueName} is missing a value.
+     */
+    public void failIfMissing(final Map<TemplateValueName, ?> values) {
+        failIfMissing(
+            this.missing(values)
+        );
+    }
+
+    /**
+     * Throws a {@link IllegalArgumentException} if any {@link TemplateValueName} is missing a value.
+     */
+    public void failIfMissing(final UrlPathTemplateValues values) {
+        failIfMissing(
+            this.missing(values)
+        );
+    }
+
+    private static void failIfMissing(final Set<TemplateValueName> missing) {
+        if (false == missing.isEmpty()) {
+            // Missing values for abc, def
+            throw new IllegalArgumentException(
+                "Missing values for " +
+                    missing.stream()
+                        .map(TemplateValueName::toString)
+                        .collect(Collectors.joining(", "))
+            );
+        }
+    }
+
+    /**
+     * The required {@link TemplateValueName}.
+     */
+    private final TemplateValueNameSet names;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.names.toString();
+    }
+}
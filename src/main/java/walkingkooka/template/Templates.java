@@ -19,14 +19,44 @@ package walkingkooka.template;
 
 import walkingkooka.reflect.PublicStaticHelper;
 import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionEvaluationContext;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * A collection of {@link Template} factory methods.
  */
 public final class Templates implements PublicStaticHelper {
 
+    /**
+     * {@see AdaptiveTemplate}
+     */
+    public static Template adaptive(final Template template,
+                                    final int threshold,
+                                    final Function<Template, Template> optimiser,
+                                    final Consumer<Runnable> executor) {
+        return AdaptiveTemplate.with(
+            template,
+            threshold,
+            optimiser,
+            executor
+        );
+    }
+
+    /**
+     * {@see CacheTemplate}
+     */
+    public static Template cache(final Template template,
+                                 final TemplateRenderCache cache) {
+        return CacheTemplate.with(
+            template,
+            cache
+        );
+    }
+
     /**
      * {@see TemplateCollection}
      */
@@ -34,6 +64,17 @@ public final class Templates implements PublicStaticHelper {
         return TemplateCollection.with(templates);
     }
 
+    /**
+     * Returns a {@link Template} that renders the same text as the given {@link Template} with a single loop over
+     * pre-merged literals and placeholders. On the JVM {@link TemplateJvmCompiler#compile(Template)} generates a class.
+     * {@see CompiledTemplate}
+     */
+    public static Template compile(final Template template) {
+        return template instanceof CompiledTemplate ?
+            template :
+            CompiledTemplate.with(template);
+    }
+
     /**
      * {@see ExpressionTemplate}
      */
@@ -48,6 +89,43 @@ public final class Templates implements PublicStaticHelper {
         return new FakeTemplate();
     }
 
+    /**
+     * Links the root {@link Template} with any sub-templates returned by the nameToTemplate {@link Function}, returning
+     * a single {@link Template}. Cycles are detected once during linking.
+     * {@see TemplateValueNameGraph#link()}
+     */
+    public static Template link(final Template root,
+                                final Function<TemplateValueName, Template> nameToTemplate) {
+        return TemplateValueNameGraph.with(
+            root,
+            nameToTemplate
+        ).link();
+    }
+
+    /**
+     * {@see TemplateSpecialiser}
+     */
+    public static Template specialise(final Template template,
+                                      final Map<TemplateValueName, String> knownValues) {
+        return TemplateSpecialiser.specialise(
+            template,
+            knownValues
+        );
+    }
+
+    /**
+     * {@see TemplateSpecialiser}
+     */
+    public static Template specialise(final Template template,
+                                      final Map<TemplateValueName, String> knownValues,
+                                      final ExpressionEvaluationContext context) {
+        return TemplateSpecialiser.specialise(
+            template,
+            knownValues,
+            context
+        );
+    }
+
     /**
      * {@see StringTemplate}
      */
@@ -59,7 +59,9 @@ public final class UrlPathTemplateValues implements Value<List<Object>>,
 
     /**
      * Note the {@link String} given to the parser will most likely include a starting slash, except if the path is
-     * missing a leading slash.
+     * missing a leading slash. When the path ends before the component for a name, the parser is given an empty
+     * {@link String}, so optional trailing values may still be read, while {@link #contains(TemplateValueName)}
+     * returns false for the same name.
      */
     public <T> Optional<T> get(final TemplateValueName name,
                                final Function<String, T> parser) {
@@ -125,6 +127,40 @@ public final class UrlPathTemplateValues implements Value<List<Object>>,
         return Optional.ofNullable(value);
     }
 
+    /**
+     * Returns true if the path includes a component for the given {@link TemplateValueName}. Names after the end of
+     * the path are not contained, even though {@link #get(TemplateValueName, Function)} returns the parsed empty
+     * {@link String} for them, so a validator can report a missing trailing component.
+     */
+    public boolean contains(final TemplateValueName name) {
+        Objects.requireNonNull(name, "name");
+
+        boolean contains = false;
+
+        final List<UrlPathName> pathComponents = this.pathComponents;
+        final int pathComponentCount = pathComponents.size();
+        int pathComponentIndex = 0;
+
+        for (final Object templateComponent : this.templateComponents) {
+            if (pathComponentIndex >= pathComponentCount) {
+                break;
+            }
+
+            if (name.equals(templateComponent)) {
+                contains = null != pathComponents.get(pathComponentIndex);
+                break;
+            }
+
+            if (pathComponentIndex > 0 && UrlPathTemplate.PATH_SEPARATOR_STRING.equals(templateComponent)) {
+                pathComponentIndex--;
+            }
+
+            pathComponentIndex++;
+        }
+
+        return contains;
+    }
+
     private <T> T parse(final Function<String, T> parser,
                         final String stringValue,
                         final Object templateComponent) {
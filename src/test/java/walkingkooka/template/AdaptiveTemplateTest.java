@@ -0,0 +1,471 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class AdaptiveTemplateTest implements TemplateTesting2<AdaptiveTemplate> {
+
+    private final static TemplateValueName NAME1 = TemplateValueName.with("name1");
+
+    private final static TemplateValueName NAME2 = TemplateValueName.with("name2");
+
+    private final static Function<Template, Template> OPTIMISER = Templates::compile;
+
+    /**
+     * Runs the optimiser immediately on the rendering thread.
+     */
+    private final static Consumer<Runnable> EXECUTOR = Runnable::run;
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullTemplateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> AdaptiveTemplate.with(
+                null,
+                1,
+                OPTIMISER,
+                EXECUTOR
+            )
+        );
+    }
+
+    @Test
+    public void testWithNegativeThresholdFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> AdaptiveTemplate.with(
+                Templates.string("Hello"),
+                -1,
+                OPTIMISER,
+                EXECUTOR
+            )
+        );
+        this.checkEquals(
+            "Invalid threshold -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullOptimiserFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> AdaptiveTemplate.with(
+                Templates.string("Hello"),
+                1,
+                null,
+                EXECUTOR
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> AdaptiveTemplate.with(
+                Templates.string("Hello"),
+                1,
+                OPTIMISER,
+                null
+            )
+        );
+    }
+
+    // render...........................................................................................................
+
+    @Test
+    public void testRenderOptimisedAfterThreshold() {
+        final AdaptiveTemplate template = AdaptiveTemplate.with(
+            Templates.collection(
+                Lists.of(
+                    Templates.string("Hello "),
+                    Templates.string("constant "),
+                    Templates.templateValueName(NAME1)
+                )
+            ),
+            2,
+            OPTIMISER,
+            EXECUTOR
+        );
+        final TemplateContext context = this.createContext();
+
+        for (int i = 0; i < 2; i++) {
+            this.renderAndCheck(
+                template,
+                context,
+                "Hello constant 111"
+            );
+            this.checkEquals(
+                false,
+                template.isOptimised(),
+                "optimised after " + i
+            );
+        }
+
+        for (int i = 0; i < 2; i++) {
+            this.renderAndCheck(
+                template,
+                context,
+                "Hello constant 111"
+            );
+            this.checkEquals(
+                true,
+                template.isOptimised(),
+                "optimised"
+            );
+        }
+    }
+
+    @Test
+    public void testRenderThresholdZero() {
+        final AdaptiveTemplate template = AdaptiveTemplate.with(
+            Templates.templateValueName(NAME1),
+            0,
+            OPTIMISER,
+            EXECUTOR
+        );
+
+        this.renderAndCheck(
+            template,
+            this.createContext(),
+            "111"
+        );
+        this.checkEquals(
+            true,
+            template.isOptimised()
+        );
+    }
+
+    @Test
+    public void testRenderRendersOptimisedForm() {
+        final int[] optimises = new int[1];
+
+        final AdaptiveTemplate template = AdaptiveTemplate.with(
+            Templates.templateValueName(NAME1),
+            1,
+            (t) -> {
+                optimises[0]++;
+                return Templates.string("optimised");
+            },
+            EXECUTOR
+        );
+        final TemplateContext context = this.createContext();
+
+        this.renderAndCheck(
+            template,
+            context,
+            "111"
+        );
+        this.renderAndCheck(
+            template,
+            context,
+            "optimised"
+        );
+        this.renderAndCheck(
+            template,
+            context,
+            "optimised"
+        );
+        this.checkEquals(
+            1,
+            optimises[0],
+            "optimiser calls"
+        );
+    }
+
+    @Test
+    public void testRenderOptimiserReturnsNullKeepsTemplate() {
+        final int[] optimises = new int[1];
+
+        final AdaptiveTemplate template = AdaptiveTemplate.with(
+            Templates.templateValueName(NAME1),
+            0,
+            (t) -> {
+                optimises[0]++;
+                return null;
+            },
+            EXECUTOR
+        );
+        final TemplateContext context = this.createContext();
+
+        for (int i = 0; i < 3; i++) {
+            this.renderAndCheck(
+                template,
+                context,
+                "111"
+            );
+        }
+
+        this.checkEquals(
+            1,
+            optimises[0],
+            "optimiser calls"
+        );
+    }
+
+    @Test
+    public void testRenderOptimiserFailsKeepsTemplate() {
+        final int[] optimises = new int[1];
+
+        final AdaptiveTemplate template = AdaptiveTemplate.with(
+            Templates.templateValueName(NAME1),
+            0,
+            (t) -> {
+                optimises[0]++;
+                throw new IllegalStateException("Optimiser failed");
+            },
+            EXECUTOR
+        );
+        final TemplateContext context = this.createContext();
+
+        for (int i = 0; i < 3; i++) {
+            this.renderAndCheck(
+                template,
+                context,
+                "111"
+            );
+        }
+
+        this.checkEquals(
+            1,
+            optimises[0],
+            "optimiser calls"
+        );
+    }
+
+    @Test
+    public void testRenderExecutorRejectsKeepsTemplate() {
+        final AdaptiveTemplate template = AdaptiveTemplate.with(
+            Templates.templateValueName(NAME1),
+            0,
+            (t) -> Templates.string("optimised"),
+            (r) -> {
+                throw new IllegalStateException("Rejected");
+            }
+        );
+        final TemplateContext context = this.createContext();
+
+        this.renderAndCheck(
+            template,
+            context,
+            "111"
+        );
+        this.renderAndCheck(
+            template,
+            context,
+            "111"
+        );
+    }
+
+    @Test
+    public void testRenderOptimisesInBackground() {
+        final List<Runnable> tasks = Lists.array();
+
+        final AdaptiveTemplate template = AdaptiveTemplate.with(
+            Templates.templateValueName(NAME1),
+            0,
+            (t) -> Templates.string("optimised"),
+            tasks::add
+        );
+        final TemplateContext context = this.createContext();
+
+        this.renderAndCheck(
+            template,
+            context,
+            "111"
+        );
+        this.renderAndCheck(
+            template,
+            context,
+            "111"
+        );
+        this.checkEquals(
+            1,
+            tasks.size(),
+            "optimise should only be scheduled once"
+        );
+        this.checkEquals(
+            false,
+            template.isOptimised(),
+            "optimised before task ran"
+        );
+
+        tasks.get(0)
+            .run();
+
+        this.checkEquals(
+            true,
+            template.isOptimised(),
+            "optimised after task ran"
+        );
+        this.renderAndCheck(
+            template,
+            context,
+            "optimised"
+        );
+    }
+
+    @Test
+    public void testRenderWithTemplateJvmCompiler() {
+        final AdaptiveTemplate template = AdaptiveTemplate.with(
+            Templates.collection(
+                Lists.of(
+                    Templates.string("Hello "),
+                    Templates.templateValueName(NAME1)
+                )
+            ),
+            0,
+            TemplateJvmCompiler::compile,
+            EXECUTOR
+        );
+
+        this.renderAndCheck(
+            template,
+            this.createContext(),
+            "Hello 111"
+        );
+        this.checkEquals(
+            true,
+            template.isOptimised()
+        );
+    }
+
+    // templateValueNames...............................................................................................
+
+    @Test
+    public void testTemplateValueNames() {
+        this.templateValueNamesAndCheck(
+            NAME1
+        );
+    }
+
+    @Override
+    public AdaptiveTemplate createTemplate() {
+        return AdaptiveTemplate.with(
+            Templates.templateValueName(NAME1),
+            10,
+            OPTIMISER,
+            EXECUTOR
+        );
+    }
+
+    @Override
+    public TemplateContext createContext() {
+        return TemplateContexts.renderOnly(
+            (n) -> NAME1.equals(n) ? "111" : "222"
+        );
+    }
+
+    // hashCode/equals..................................................................................................
+
+    @Test
+    public void testEqualsDifferentTemplate() {
+        this.checkNotEquals(
+            AdaptiveTemplate.with(
+                Templates.templateValueName(NAME2),
+                10,
+                OPTIMISER,
+                EXECUTOR
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentThreshold() {
+        this.checkNotEquals(
+            AdaptiveTemplate.with(
+                Templates.templateValueName(NAME1),
+                20,
+                OPTIMISER,
+                EXECUTOR
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentOptimiser() {
+        this.checkNotEquals(
+            AdaptiveTemplate.with(
+                Templates.templateValueName(NAME1),
+                10,
+                TemplateJvmCompiler::compile,
+                EXECUTOR
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentExecutor() {
+        this.checkNotEquals(
+            AdaptiveTemplate.with(
+                Templates.templateValueName(NAME1),
+                10,
+                OPTIMISER,
+                (r) -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createTemplate(),
+            "${name1}"
+        );
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Test
+    public void testPrintTree() {
+        this.treePrintAndCheck(
+            this.createTemplate(),
+            "AdaptiveTemplate 10\n" +
+                "  TemplateValueNameTemplate\n" +
+                "    ${name1}\n"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<AdaptiveTemplate> type() {
+        return AdaptiveTemplate.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -32,6 +32,8 @@ import walkingkooka.text.Indentation;
 import walkingkooka.text.LineEnding;
 import walkingkooka.text.cursor.TextCursor;
 import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.text.printer.Printers;
 import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.expression.ExpressionEvaluationContext;
 import walkingkooka.tree.expression.ExpressionEvaluationContexts;
@@ -45,6 +47,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class BasicTemplateContextTest implements TemplateContextTesting2<BasicTemplateContext> {
@@ -62,7 +66,7 @@ public final class BasicTemplateContextTest implements TemplateContextTesting2<B
 
     private final static LineEnding LINE_ENDING = LineEnding.NL;
 
-    private final static ExpressionEvaluationContext EXPRESSION_EVALUATION_CONTEXT = ExpressionEvaluationContexts.basic(
+    final static ExpressionEvaluationContext EXPRESSION_EVALUATION_CONTEXT = ExpressionEvaluationContexts.basic(
         EXPRESSION_NUMBER_KIND,
         (e, c) -> {
             Objects.requireNonNull(e, "expression");
@@ -257,6 +261,88 @@ public final class BasicTemplateContextTest implements TemplateContextTesting2<B
         );
     }
 
+    @Test
+    public void testParseTemplateWithTemplateValueNameSkipsExpressionParser() {
+        this.checkEquals(
+                Templates.collection(
+                        Lists.of(
+                                Templates.string("Hello"),
+                                Templates.templateValueName(
+                                        TemplateValueName.with("abc")
+                                ),
+                                Templates.string("123")
+                        )
+                ),
+                BasicTemplateContext.with(
+                        (final TextCursor t) -> {
+                            throw new UnsupportedOperationException();
+                        },
+                        NAME_TO_TEMPLATE,
+                        LineEnding.NL,
+                        EXPRESSION_EVALUATION_CONTEXT
+                ).parseTemplate(TextCursors.charSequence("Hello${abc}123"))
+        );
+    }
+
+    @Test
+    public void testParseTemplateWithTemplateValueNameFollowedByOtherUsesExpressionParser() {
+        final Template expression = Templates.expression(
+                Expression.add(
+                        Expression.reference(
+                                TemplateValueName.with("abc")
+                        ),
+                        Expression.value(1)
+                )
+        );
+
+        this.checkEquals(
+                expression,
+                BasicTemplateContext.with(
+                        (final TextCursor t) -> {
+                            for (int i = 0; i < "abc+1".length(); i++) {
+                                t.next();
+                            }
+                            return expression;
+                        },
+                        NAME_TO_TEMPLATE,
+                        LineEnding.NL,
+                        EXPRESSION_EVALUATION_CONTEXT
+                ).parseTemplate(TextCursors.charSequence("${abc+1}"))
+        );
+    }
+
+    @Test
+    public void testParseTemplateWithTemplateValueNameWithMinusUsesExpressionParser() {
+        this.parseTemplateWithExpressionParserAndCheck("price-discount");
+    }
+
+    @Test
+    public void testParseTemplateWithTemplateValueNameWithDotUsesExpressionParser() {
+        this.parseTemplateWithExpressionParserAndCheck("a.b");
+    }
+
+    private void parseTemplateWithExpressionParserAndCheck(final String text) {
+        final Template expression = Templates.expression(
+                Expression.value(text)
+        );
+
+        this.checkEquals(
+                expression,
+                BasicTemplateContext.with(
+                        (final TextCursor t) -> {
+                            for (int i = 0; i < text.length(); i++) {
+                                t.next();
+                            }
+                            return expression;
+                        },
+                        NAME_TO_TEMPLATE,
+                        LineEnding.NL,
+                        EXPRESSION_EVALUATION_CONTEXT
+                ).parseTemplate(TextCursors.charSequence("${" + text + "}")),
+                text
+        );
+    }
+
     @Test
     public void testParseTemplateWithUnclosedExpressionFails() {
         final IllegalArgumentException thrown = assertThrows(
@@ -505,6 +591,45 @@ public final class BasicTemplateContextTest implements TemplateContextTesting2<B
         );
     }
 
+    @Test
+    public void testTemplateValueAsObjectWithExpressionReferenceWithTemplateValueNameExpression() {
+        this.checkEquals(
+                1,
+                this.createContext(
+                        (n) -> {
+                            switch (n.value()) {
+                                case "Parameter111":
+                                    return Templates.expression(
+                                            Expression.reference(
+                                                    TemplateValueName.with("Parameter222")
+                                            )
+                                    );
+                                case "Parameter222":
+                                    return Templates.expression(
+                                            Expression.value(1)
+                                    );
+                                default:
+                                    throw new UnsupportedOperationException(n.toString());
+                            }
+                        }
+                ).templateValueAsObject(
+                        TemplateValueName.with("Parameter111")
+                )
+        );
+    }
+
+    @Test
+    public void testTemplateValueAsObjectWithString() {
+        this.checkEquals(
+                "Value999",
+                this.createContext(
+                        (n) -> Templates.string("Value999")
+                ).templateValueAsObject(
+                        TemplateValueName.with("Parameter111")
+                )
+        );
+    }
+
     @Test
     public void testParseTemplateAndRenderToStringWithExpressionCycleOneDeepFails() {
         final IllegalStateException thrown = assertThrows(
@@ -534,6 +659,278 @@ public final class BasicTemplateContextTest implements TemplateContextTesting2<B
         );
     }
 
+    @Test
+    public void testEvaluateAsStringWithSameReferenceTwiceRendersOnce() {
+        final TemplateValueName name = TemplateValueName.with("Parameter111");
+        final int[] renders = new int[1];
+
+        this.checkEquals(
+                "true",
+                this.createContext(
+                        (n) -> {
+                            renders[0]++;
+                            return Templates.string("Value111");
+                        }
+                ).evaluateAsString(
+                        Expression.equalsExpression(
+                                Expression.reference(name),
+                                Expression.reference(name)
+                        )
+                )
+        );
+
+        this.checkEquals(
+                1,
+                renders[0],
+                "renders"
+        );
+    }
+
+    @Test
+    public void testParseTemplateAndRenderToStringSharesScopeBetweenExpressions() {
+        final TemplateValueName name = TemplateValueName.with("Parameter333");
+        final Template expression = Templates.expression(
+                Expression.equalsExpression(
+                        Expression.reference(name),
+                        Expression.reference(name)
+                )
+        );
+        final int[] renders = new int[1];
+
+        this.parseTemplateAndRenderToStringAndCheck(
+                this.createContext(
+                        (n) -> {
+                            switch (n.value()) {
+                                case "Parameter111":
+                                case "Parameter222":
+                                    return expression;
+                                case "Parameter333":
+                                    renders[0]++;
+                                    return Templates.string("Value333");
+                                default:
+                                    throw new UnsupportedOperationException(n.toString());
+                            }
+                        }
+                ),
+                "${Parameter111} ${Parameter222}",
+                LineEnding.NL,
+                "true true"
+        );
+
+        this.checkEquals(
+                1,
+                renders[0],
+                "renders"
+        );
+    }
+
+    @Test
+    public void testEvaluateAsStringWithCharSequence() {
+        this.checkEquals(
+                "Hello",
+                this.createContext()
+                        .evaluateAsString(
+                                Expression.value(
+                                        new StringBuilder("Hello")
+                                )
+                        )
+        );
+    }
+
+    @Test
+    public void testEvaluateAsStringWithNumber() {
+        this.checkEquals(
+                "3",
+                this.createContext()
+                        .evaluateAsString(
+                                Expression.add(
+                                        Expression.value(1),
+                                        Expression.value(2)
+                                )
+                        )
+        );
+    }
+
+    @Test
+    public void testTemplateRenderCollectionSharesScopeBetweenPlaceholders() {
+        final int[] renders = new int[1];
+        final StringBuilder b = new StringBuilder();
+
+        try (final Printer printer = Printers.stringBuilder(b, LineEnding.NL)) {
+            Templates.collection(
+                    Lists.of(
+                            Templates.templateValueName(
+                                    TemplateValueName.with("Parameter111")
+                            ),
+                            Templates.string(" "),
+                            Templates.templateValueName(
+                                    TemplateValueName.with("Parameter222")
+                            )
+                    )
+            ).render(
+                    printer,
+                    this.createSharedScopeContext(renders)
+            );
+            printer.flush();
+        }
+
+        this.checkEquals(
+                "true true",
+                b.toString()
+        );
+        this.checkEquals(
+                1,
+                renders[0],
+                "renders"
+        );
+    }
+
+    @Test
+    public void testTemplateRenderCompiledSharesScopeBetweenPlaceholders() {
+        final int[] renders = new int[1];
+
+        this.checkEquals(
+                "true true",
+                Templates.compile(
+                        Templates.collection(
+                                Lists.of(
+                                        Templates.templateValueName(
+                                                TemplateValueName.with("Parameter111")
+                                        ),
+                                        Templates.string(" "),
+                                        Templates.templateValueName(
+                                                TemplateValueName.with("Parameter222")
+                                        )
+                                )
+                        )
+                ).renderToString(
+                        LineEnding.NL,
+                        this.createSharedScopeContext(renders)
+                )
+        );
+        this.checkEquals(
+                1,
+                renders[0],
+                "renders"
+        );
+    }
+
+    /**
+     * Parameter111 and Parameter222 both evaluate an expression referencing Parameter333, counting each time its
+     * template is fetched.
+     */
+    private BasicTemplateContext createSharedScopeContext(final int[] renders) {
+        final TemplateValueName name = TemplateValueName.with("Parameter333");
+        final Template expression = Templates.expression(
+                Expression.equalsExpression(
+                        Expression.reference(name),
+                        Expression.reference(name)
+                )
+        );
+
+        return this.createContext(
+                (n) -> {
+                    switch (n.value()) {
+                        case "Parameter111":
+                        case "Parameter222":
+                            return expression;
+                        case "Parameter333":
+                            renders[0]++;
+                            return Templates.string("Value333");
+                        default:
+                            throw new UnsupportedOperationException(n.toString());
+                    }
+                }
+        );
+    }
+
+    // templateValueKey.................................................................................................
+
+    @Test
+    public void testTemplateValueKeySameTemplates() {
+        final Function<TemplateValueName, Template> nameToTemplate = (n) -> Templates.string("Value999");
+        final TemplateValueName name = TemplateValueName.with("Parameter111");
+
+        final Object key = this.createContext(nameToTemplate)
+                .templateValueKey(name);
+        final Object key2 = this.createContext(nameToTemplate)
+                .templateValueKey(name);
+
+        this.checkEquals(
+                key,
+                key2
+        );
+        this.checkEquals(
+                key.hashCode(),
+                key2.hashCode()
+        );
+    }
+
+    @Test
+    public void testTemplateValueKeyDifferentTemplates() {
+        final TemplateValueName name = TemplateValueName.with("Parameter111");
+
+        this.checkNotEquals(
+                this.createContext(
+                        (n) -> Templates.string("Value111")
+                ).templateValueKey(name),
+                this.createContext(
+                        (n) -> Templates.string("Value222")
+                ).templateValueKey(name)
+        );
+    }
+
+    @Test
+    public void testTemplateValueKeyMemoisedWithinRender() {
+        final BasicTemplateContext context = this.createContext(
+                (n) -> Templates.string("Value999")
+        );
+        final TemplateValueName name = TemplateValueName.with("Parameter111");
+
+        final TemplateContext renderContext = context.renderContext();
+        final Object key = renderContext.templateValueKey(name);
+
+        assertSame(
+                key,
+                renderContext.templateValueKey(name),
+                "key should be built once per render"
+        );
+
+        final Object key2 = context.renderContext()
+                .templateValueKey(name);
+        assertNotSame(
+                key,
+                key2
+        );
+        this.checkEquals(
+                key,
+                key2
+        );
+    }
+
+    // renderContext....................................................................................................
+
+    @Test
+    public void testRenderContext() {
+        final BasicTemplateContext context = this.createContext();
+        final TemplateContext renderContext = context.renderContext();
+
+        this.checkEquals(
+                BasicTemplateContextCycleTemplateContext.class,
+                renderContext.getClass()
+        );
+        assertSame(
+                renderContext,
+                renderContext.renderContext(),
+                "nested renders should share the same render context"
+        );
+        assertNotSame(
+                renderContext,
+                context.renderContext(),
+                "each render should get its own render context"
+        );
+    }
+
     // TemplateContext..................................................................................................
 
     @Override
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CacheTemplateTest implements TemplateTesting2<CacheTemplate> {
+
+    private final static TemplateValueName NAME1 = TemplateValueName.with("name1");
+
+    private final static TemplateValueName NAME2 = TemplateValueName.with("name2");
+
+    private final static TemplateRenderCache CACHE = TemplateRenderCache.with(
+        1000,
+        1000,
+        () -> 0
+    );
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullTemplateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CacheTemplate.with(
+                null,
+                CACHE
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullCacheFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CacheTemplate.with(
+                Templates.string("Hello"),
+                null
+            )
+        );
+    }
+
+    // render...........................................................................................................
+
+    @Test
+    public void testRenderCachesFragment() {
+        final TemplateRenderCache cache = TemplateRenderCache.with(
+            1000,
+            1000,
+            () -> 0
+        );
+
+        final int[] renders = new int[1];
+
+        final Template expensive = new FakeTemplate() {
+            @Override
+            public void render(final Printer printer,
+                               final TemplateContext context) {
+                renders[0]++;
+                printer.print(
+                    "<" + context.templateValue(NAME1) + ">"
+                );
+            }
+
+            @Override
+            public Set<TemplateValueName> templateValueNames() {
+                return TemplateValueNameSet.of(NAME1);
+            }
+        };
+
+        final Template template = Templates.collection(
+            Lists.of(
+                Templates.cache(
+                    expensive,
+                    cache
+                ),
+                Templates.string(" "),
+                Templates.templateValueName(NAME2)
+            )
+        );
+
+        this.checkEquals(
+            "<111> 222",
+            template.renderToString(
+                LineEnding.NL,
+                TemplateContexts.renderOnly(
+                    (n) -> NAME1.equals(n) ? "111" : "222"
+                )
+            )
+        );
+        this.checkEquals(
+            "<111> 333",
+            template.renderToString(
+                LineEnding.NL,
+                TemplateContexts.renderOnly(
+                    (n) -> NAME1.equals(n) ? "111" : "333"
+                )
+            )
+        );
+        this.checkEquals(
+            "<999> 333",
+            template.renderToString(
+                LineEnding.NL,
+                TemplateContexts.renderOnly(
+                    (n) -> NAME1.equals(n) ? "999" : "333"
+                )
+            )
+        );
+
+        this.checkEquals(2, renders[0], "renders");
+        this.checkEquals(1L, cache.hits(), "hits");
+        this.checkEquals(2L, cache.misses(), "misses");
+    }
+
+    @Test
+    public void testRenderWithBasicContextAndSubTemplateCachesFragment() {
+        final TemplateRenderCache cache = TemplateRenderCache.with(
+            1000,
+            1000,
+            () -> 0
+        );
+
+        final Map<String, Integer> renders = Maps.sorted();
+
+        final Map<TemplateValueName, Template> nameToTemplate = Maps.sorted();
+        nameToTemplate.put(
+            NAME1,
+            countingTemplate(
+                "111",
+                renders
+            )
+        );
+        nameToTemplate.put(
+            NAME2,
+            Templates.string("222")
+        );
+
+        final Template template = Templates.collection(
+            Lists.of(
+                Templates.cache(
+                    Templates.collection(
+                        Lists.of(
+                            Templates.string("<"),
+                            Templates.templateValueName(NAME1),
+                            Templates.string(">")
+                        )
+                    ),
+                    cache
+                ),
+                Templates.string(" "),
+                Templates.templateValueName(NAME2)
+            )
+        );
+
+        final TemplateContext context = TemplateContexts.basic(
+            (t) -> {
+                throw new UnsupportedOperationException();
+            },
+            nameToTemplate::get,
+            LineEnding.NL,
+            BasicTemplateContextTest.EXPRESSION_EVALUATION_CONTEXT
+        );
+
+        this.checkEquals(
+            "<111> 222",
+            template.renderToString(
+                LineEnding.NL,
+                context
+            )
+        );
+        this.checkEquals(
+            "<111> 222",
+            template.renderToString(
+                LineEnding.NL,
+                context
+            )
+        );
+
+        this.checkEquals(
+            Maps.of("111", 1),
+            renders,
+            "sub-template rendered once for a miss and not at all for a hit"
+        );
+
+        nameToTemplate.put(
+            NAME1,
+            countingTemplate(
+                "999",
+                renders
+            )
+        );
+
+        this.checkEquals(
+            "<999> 222",
+            template.renderToString(
+                LineEnding.NL,
+                context
+            )
+        );
+
+        this.checkEquals(
+            Maps.of(
+                "111", 1,
+                "999", 1
+            ),
+            renders,
+            "changed sub-template rendered once"
+        );
+        this.checkEquals(1L, cache.hits(), "hits");
+        this.checkEquals(2L, cache.misses(), "misses");
+    }
+
+    private static Template countingTemplate(final String text,
+                                             final Map<String, Integer> renders) {
+        return new FakeTemplate() {
+            @Override
+            public void render(final Printer printer,
+                               final TemplateContext context) {
+                renders.merge(text, 1, Integer::sum);
+                printer.print(text);
+            }
+
+            @Override
+            public Set<TemplateValueName> templateValueNames() {
+                return TemplateValueNameSet.EMPTY;
+            }
+        };
+    }
+
+    // templateValueNames...............................................................................................
+
+    @Test
+    public void testTemplateValueNames() {
+        this.templateValueNamesAndCheck(
+            NAME1
+        );
+    }
+
+    @Override
+    public CacheTemplate createTemplate() {
+        return CacheTemplate.with(
+            Templates.templateValueName(NAME1),
+            CACHE
+        );
+    }
+
+    @Override
+    public TemplateContext createContext() {
+        return TemplateContexts.fake();
+    }
+
+    // hashCode/equals..................................................................................................
+
+    @Test
+    public void testEqualsDifferentTemplate() {
+        this.checkNotEquals(
+            CacheTemplate.with(
+                Templates.templateValueName(NAME2),
+                CACHE
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentCache() {
+        this.checkNotEquals(
+            CacheTemplate.with(
+                Templates.templateValueName(NAME1),
+                TemplateRenderCache.with(
+                    1000,
+                    1000,
+                    () -> 0
+                )
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createTemplate(),
+            "${name1}"
+        );
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Test
+    public void testPrintTree() {
+        this.treePrintAndCheck(
+            this.createTemplate(),
+            "CacheTemplate\n" +
+                "  TemplateValueNameTemplate\n" +
+                "    ${name1}\n"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<CacheTemplate> type() {
+        return CacheTemplate.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.printer.Printer;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CompiledTemplateTest implements TemplateTesting2<CompiledTemplate> {
+
+    private final static TemplateValueName NAME1 = TemplateValueName.with("name1");
+
+    private final static TemplateValueName NAME2 = TemplateValueName.with("name2");
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CompiledTemplate.with(null)
+        );
+    }
+
+    @Test
+    public void testTemplatesCompileCompiled() {
+        final Template template = Templates.compile(
+            Templates.string("Hello")
+        );
+
+        assertSame(
+            template,
+            Templates.compile(template)
+        );
+    }
+
+    // render...........................................................................................................
+
+    @Test
+    public void testRenderString() {
+        this.renderAndCheck2(
+            Templates.string("Hello"),
+            "Hello"
+        );
+    }
+
+    @Test
+    public void testRenderTemplateValueName() {
+        this.renderAndCheck2(
+            Templates.templateValueName(NAME1),
+            "111"
+        );
+    }
+
+    @Test
+    public void testRenderCollection() {
+        this.renderAndCheck2(
+            Templates.collection(
+                Lists.of(
+                    Templates.string("Hello "),
+                    Templates.string("there "),
+                    Templates.templateValueName(NAME1),
+                    Templates.templateValueName(NAME2),
+                    Templates.string(" "),
+                    new FakeTemplate() {
+                        @Override
+                        public void render(final Printer printer,
+                                           final TemplateContext context) {
+                            printer.print("Other3");
+                        }
+                    },
+                    Templates.string("!")
+                )
+            ),
+            "Hello there 111222 Other3!"
+        );
+    }
+
+    private void renderAndCheck2(final Template template,
+                                 final String expected) {
+        final TemplateContext context = this.createContext();
+
+        this.renderAndCheck(
+            template,
+            context,
+            expected
+        );
+        this.renderAndCheck(
+            CompiledTemplate.with(template),
+            context,
+            expected
+        );
+    }
+
+    // templateValueNames...............................................................................................
+
+    @Test
+    public void testTemplateValueNames() {
+        this.templateValueNamesAndCheck(
+            NAME1
+        );
+    }
+
+    @Override
+    public CompiledTemplate createTemplate() {
+        return CompiledTemplate.with(
+            Templates.templateValueName(NAME1)
+        );
+    }
+
+    @Override
+    public TemplateContext createContext() {
+        return TemplateContexts.renderOnly(
+            (n) -> NAME1.equals(n) ? "111" : "222"
+        );
+    }
+
+    // hashCode/equals..................................................................................................
+
+    @Test
+    public void testEqualsDifferentTemplate() {
+        this.checkNotEquals(
+            CompiledTemplate.with(
+                Templates.templateValueName(NAME2)
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createTemplate(),
+            "${name1}"
+        );
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Test
+    public void testPrintTree() {
+        this.treePrintAndCheck(
+            this.createTemplate(),
+            "CompiledTemplate\n" +
+                "  TemplateValueNameTemplate\n" +
+                "    ${name1}\n"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<CompiledTemplate> type() {
+        return CompiledTemplate.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallingTesting;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ExpressionTemplateTest implements TemplateTesting2<ExpressionTemplate>,
+    JsonNodeMarshallingTesting<ExpressionTemplate> {
+
+    static {
+        TemplateStartup.init();
+    }
+
+    private final static TemplateValueName NAME = TemplateValueName.with("name1");
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ExpressionTemplate.with(null)
+        );
+    }
+
+    // render...........................................................................................................
+
+    @Test
+    public void testRenderEvaluated() {
+        final Expression expression = Expression.value(123);
+
+        this.renderAndCheck(
+            ExpressionTemplate.with(expression),
+            new FakeTemplateContext() {
+                @Override
+                public String evaluateAsString(final Expression e) {
+                    checkEquals(expression, e);
+                    return "Evaluated123";
+                }
+            },
+            "Evaluated123"
+        );
+    }
+
+    // templateValueNames...............................................................................................
+
+    @Test
+    public void testTemplateValueNames() {
+        this.templateValueNamesAndCheck(
+            ExpressionTemplate.with(
+                Expression.reference(NAME)
+            ),
+            NAME
+        );
+    }
+
+    @Override
+    public ExpressionTemplate createTemplate() {
+        return ExpressionTemplate.with(
+            Expression.value("Hello")
+        );
+    }
+
+    @Override
+    public TemplateContext createContext() {
+        return TemplateContexts.fake();
+    }
+
+    // hashCode/equals..................................................................................................
+
+    @Test
+    public void testEqualsDifferentExpression() {
+        this.checkNotEquals(
+            ExpressionTemplate.with(
+                Expression.value("Different")
+            )
+        );
+    }
+
+    // json.............................................................................................................
+
+    @Test
+    public void testMarshallRoundtripReference() {
+        this.marshallRoundTripTwiceAndCheck(
+            ExpressionTemplate.with(
+                Expression.reference(NAME)
+            )
+        );
+    }
+
+    @Test
+    public void testMarshallRoundtripNested() {
+        this.marshallRoundTripTwiceAndCheck(
+            ExpressionTemplate.with(
+                Expression.add(
+                    Expression.value("Hello "),
+                    Expression.reference(NAME)
+                )
+            )
+        );
+    }
+
+    @Override
+    public ExpressionTemplate unmarshall(final JsonNode json,
+                                         final JsonNodeUnmarshallContext context) {
+        return TemplateJson.unmarshallExpressionTemplate(
+            json,
+            context
+        );
+    }
+
+    @Override
+    public ExpressionTemplate createJsonNodeMarshallingValue() {
+        return this.createTemplate();
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ExpressionTemplate> type() {
+        return ExpressionTemplate.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.Printer;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionEvaluationContext;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PrefetchTemplateContextTest implements TemplateContextTesting<PrefetchTemplateContext> {
+
+    private final static TemplateValueName NAME1 = TemplateValueName.with("name1");
+
+    private final static TemplateValueName NAME2 = TemplateValueName.with("name2");
+
+    private final static TemplateValueName NAME3 = TemplateValueName.with("name3");
+
+    private final static TemplateValueName SUB = TemplateValueName.with("sub");
+
+    private final static Template TEMPLATE = Templates.collection(
+        Lists.of(
+            Templates.templateValueName(NAME1),
+            Templates.string(" "),
+            Templates.templateValueName(SUB),
+            Templates.string(" "),
+            Templates.templateValueName(NAME1)
+        )
+    );
+
+    private final static Function<TemplateValueName, Template> NAME_TO_TEMPLATE = (n) -> SUB.equals(n) ?
+        Templates.collection(
+            Lists.of(
+                Templates.string("<"),
+                Templates.templateValueName(NAME2),
+                Templates.templateValueName(NAME3),
+                Templates.string(">")
+            )
+        ) :
+        null;
+
+    private final static Function<Set<TemplateValueName>, Map<TemplateValueName, String>> LOADER = (names) -> {
+        final Map<TemplateValueName, String> values = Maps.sorted();
+        for (final TemplateValueName name : names) {
+            values.put(
+                name,
+                name.value().toUpperCase()
+            );
+        }
+        return values;
+    };
+
+    private final static ExpressionEvaluationContext EXPRESSION_EVALUATION_CONTEXT = BasicTemplateContextTest.EXPRESSION_EVALUATION_CONTEXT;
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullTemplateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PrefetchTemplateContext.with(
+                null,
+                NAME_TO_TEMPLATE,
+                LOADER,
+                LineEnding.NL,
+                EXPRESSION_EVALUATION_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullNameToTemplateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PrefetchTemplateContext.with(
+                TEMPLATE,
+                null,
+                LOADER,
+                LineEnding.NL,
+                EXPRESSION_EVALUATION_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullLoaderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PrefetchTemplateContext.with(
+                TEMPLATE,
+                NAME_TO_TEMPLATE,
+                null,
+                LineEnding.NL,
+                EXPRESSION_EVALUATION_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullLineEndingFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PrefetchTemplateContext.with(
+                TEMPLATE,
+                NAME_TO_TEMPLATE,
+                LOADER,
+                null,
+                EXPRESSION_EVALUATION_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullExpressionEvaluationContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PrefetchTemplateContext.with(
+                TEMPLATE,
+                NAME_TO_TEMPLATE,
+                LOADER,
+                LineEnding.NL,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithLoaderCalledOnce() {
+        final Map<Set<TemplateValueName>, Integer> loads = Maps.hash();
+
+        PrefetchTemplateContext.with(
+            TEMPLATE,
+            NAME_TO_TEMPLATE,
+            (names) -> {
+                loads.merge(names, 1, Integer::sum);
+                return LOADER.apply(names);
+            },
+            LineEnding.NL,
+            EXPRESSION_EVALUATION_CONTEXT
+        );
+
+        this.checkEquals(
+            Maps.of(
+                Set.of(
+                    NAME1,
+                    NAME2,
+                    NAME3
+                ),
+                1
+            ),
+            loads
+        );
+    }
+
+    @Test
+    public void testWithCycleFails() {
+        final TemplateValueName cycle1 = TemplateValueName.with("cycle1");
+        final TemplateValueName cycle2 = TemplateValueName.with("cycle2");
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> PrefetchTemplateContext.with(
+                Templates.templateValueName(cycle1),
+                (n) -> Templates.templateValueName(
+                    cycle1.equals(n) ?
+                        cycle2 :
+                        cycle1
+                ),
+                LOADER,
+                LineEnding.NL,
+                EXPRESSION_EVALUATION_CONTEXT
+            )
+        );
+
+        this.checkEquals(
+            "Cycle detected \"cycle1\" -> \"cycle2\" -> \"cycle1\"",
+            thrown.getMessage()
+        );
+    }
+
+    // render...........................................................................................................
+
+    @Test
+    public void testRender() {
+        this.checkEquals(
+            "NAME1 <NAME2NAME3> NAME1",
+            TEMPLATE.renderToString(
+                LineEnding.NL,
+                this.createContext()
+            )
+        );
+    }
+
+    @Test
+    public void testRenderWithExpressionReferencingValue() {
+        this.renderWithExpressionAndCheck(
+            Expression.reference(NAME1),
+            "[NAME1]"
+        );
+    }
+
+    @Test
+    public void testRenderWithExpressionReferencingSubTemplate() {
+        this.renderWithExpressionAndCheck(
+            Expression.reference(SUB),
+            "[<NAME2NAME3>]"
+        );
+    }
+
+    private void renderWithExpressionAndCheck(final Expression expression,
+                                              final String expected) {
+        final Template template = Templates.collection(
+            Lists.of(
+                Templates.string("["),
+                Templates.expression(expression),
+                Templates.string("]")
+            )
+        );
+
+        this.checkEquals(
+            expected,
+            template.renderToString(
+                LineEnding.NL,
+                PrefetchTemplateContext.with(
+                    template,
+                    NAME_TO_TEMPLATE,
+                    LOADER,
+                    LineEnding.NL,
+                    EXPRESSION_EVALUATION_CONTEXT
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testRenderSubTemplateRenderedOnce() {
+        final int[] renders = new int[1];
+
+        final Template sub = new FakeTemplate() {
+            @Override
+            public void render(final Printer printer,
+                               final TemplateContext context) {
+                renders[0]++;
+                printer.print("sub");
+            }
+
+            @Override
+            public Set<TemplateValueName> templateValueNames() {
+                return Sets.empty();
+            }
+        };
+
+        final Template template = Templates.collection(
+            Lists.of(
+                Templates.templateValueName(SUB),
+                Templates.string(" "),
+                Templates.templateValueName(SUB)
+            )
+        );
+
+        this.checkEquals(
+            "sub sub",
+            template.renderToString(
+                LineEnding.NL,
+                PrefetchTemplateContext.with(
+                    template,
+                    (n) -> SUB.equals(n) ?
+                        sub :
+                        null,
+                    LOADER,
+                    LineEnding.NL,
+                    EXPRESSION_EVALUATION_CONTEXT
+                )
+            )
+        );
+        this.checkEquals(
+            1,
+            renders[0],
+            "renders"
+        );
+    }
+
+    @Test
+    public void testTemplateValueMissingFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createContext()
+                .templateValue(
+                    TemplateValueName.with("unknown")
+                )
+        );
+
+        this.checkEquals(
+            "Missing value for unknown",
+            thrown.getMessage()
+        );
+    }
+
+    @Override
+    public void testParseStringEmptyFails() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PrefetchTemplateContext createContext() {
+        return PrefetchTemplateContext.with(
+            TEMPLATE,
+            NAME_TO_TEMPLATE,
+            LOADER,
+            LineEnding.NL,
+            EXPRESSION_EVALUATION_CONTEXT
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PrefetchTemplateContext> type() {
+        return PrefetchTemplateContext.class;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.tree.expression.ExpressionEvaluationContexts;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link TemplateContext} that parses with backslash escaping and records the text of each placeholder given to
+ * {@link TemplateContext#parseTemplateExpression(TextCursor)}, so tests may verify which expressions were parsed.
+ */
+final class RecordingTemplateContext extends FakeTemplateContext {
+
+    static RecordingTemplateContext with(final List<String> parsed) {
+        return new RecordingTemplateContext(
+            Objects.requireNonNull(parsed, "parsed")
+        );
+    }
+
+    private RecordingTemplateContext(final List<String> parsed) {
+        super();
+        this.parsed = parsed;
+    }
+
+    @Override
+    public Template parseTemplate(final TextCursor text) {
+        return this.parseTemplateWithBackslashEscaping(text);
+    }
+
+    @Override
+    public Template parseTemplateExpression(final TextCursor text) {
+        final Template template = CONTEXT.parseTemplateExpression(text);
+        this.parsed.add(template.toString());
+        return template;
+    }
+
+    @Override
+    public Template templateCollection(final List<Template> templates) {
+        return CONTEXT.templateCollection(templates);
+    }
+
+    @Override
+    public Template templateText(final String text) {
+        return CONTEXT.templateText(text);
+    }
+
+    private final List<String> parsed;
+
+    private final static TemplateContext CONTEXT = TemplateContexts.basic(
+        (final TextCursor t) -> {
+            throw new UnsupportedOperationException();
+        },
+        (n) -> {
+            throw new UnsupportedOperationException();
+        },
+        LineEnding.NL,
+        ExpressionEvaluationContexts.fake()
+    );
+
+    @Override
+    public String toString() {
+        return this.parsed.toString();
+    }
+}
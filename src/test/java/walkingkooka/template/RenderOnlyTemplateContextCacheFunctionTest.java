@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class RenderOnlyTemplateContextCacheFunctionTest implements ClassTesting<RenderOnlyTemplateContextCacheFunction>,
+    ToStringTesting<RenderOnlyTemplateContextCacheFunction> {
+
+    private final static TemplateValueName NAME1 = TemplateValueName.with("name1");
+
+    private final static TemplateValueName NAME2 = TemplateValueName.with("name2");
+
+    private final static TemplateValueName NAME3 = TemplateValueName.with("name3");
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullTemplateValuesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> RenderOnlyTemplateContextCacheFunction.with(
+                null,
+                Maps.hash()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullCacheFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> RenderOnlyTemplateContextCacheFunction.with(
+                (n) -> n.value(),
+                null
+            )
+        );
+    }
+
+    // apply............................................................................................................
+
+    @Test
+    public void testApplyFetchesOnce() {
+        final Map<TemplateValueName, Integer> counts = Maps.sorted();
+
+        final RenderOnlyTemplateContextCacheFunction function = RenderOnlyTemplateContextCacheFunction.with(
+            (n) -> {
+                counts.merge(n, 1, Integer::sum);
+                return n.value().toUpperCase();
+            },
+            Maps.hash()
+        );
+
+        this.checkEquals("NAME1", function.apply(NAME1));
+        this.checkEquals("NAME1", function.apply(NAME1));
+        this.checkEquals("NAME2", function.apply(NAME2));
+        this.checkEquals("NAME1", function.apply(NAME1));
+
+        this.checkEquals(
+            Maps.of(
+                NAME1, 1,
+                NAME2, 1
+            ),
+            counts
+        );
+    }
+
+    @Test
+    public void testApplyNullNotCached() {
+        final Map<TemplateValueName, String> cache = Maps.hash();
+
+        this.checkEquals(
+            null,
+            RenderOnlyTemplateContextCacheFunction.with(
+                (n) -> null,
+                cache
+            ).apply(NAME1)
+        );
+
+        this.checkEquals(
+            Maps.empty(),
+            cache
+        );
+    }
+
+    @Test
+    public void testApplyCacheEvicts() {
+        final Map<TemplateValueName, Integer> counts = Maps.sorted();
+
+        final RenderOnlyTemplateContextCacheFunction function = RenderOnlyTemplateContextCacheFunction.with(
+            (n) -> {
+                counts.merge(n, 1, Integer::sum);
+                return n.value();
+            },
+            new LinkedHashMap<TemplateValueName, String>() {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<TemplateValueName, String> eldest) {
+                    return this.size() > 2;
+                }
+            }
+        );
+
+        function.apply(NAME1);
+        function.apply(NAME2);
+        function.apply(NAME3); // evicts NAME1
+        function.apply(NAME1);
+        function.apply(NAME3);
+
+        this.checkEquals(
+            Maps.of(
+                NAME1, 2,
+                NAME2, 1,
+                NAME3, 1
+            ),
+            counts
+        );
+    }
+
+    @Test
+    public void testRenderOnlyCacheRender() {
+        final Map<TemplateValueName, Integer> counts = Maps.sorted();
+
+        final TemplateContext context = TemplateContexts.renderOnlyCache(
+            (n) -> {
+                counts.merge(n, 1, Integer::sum);
+                return n.value().toUpperCase();
+            },
+            Maps.hash()
+        );
+
+        this.checkEquals(
+            "/NAME1/NAME2/NAME1",
+            Templates.collection(
+                Lists.of(
+                    Templates.string("/"),
+                    Templates.templateValueName(NAME1),
+                    Templates.string("/"),
+                    Templates.templateValueName(NAME2),
+                    Templates.string("/"),
+                    Templates.templateValueName(NAME1)
+                )
+            ).renderToString(
+                LineEnding.NL,
+                context
+            )
+        );
+
+        this.checkEquals(
+            Maps.of(
+                NAME1, 1,
+                NAME2, 1
+            ),
+            counts
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final Function<TemplateValueName, String> templateValues = new Function<>() {
+            @Override
+            public String apply(final TemplateValueName name) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String toString() {
+                return "TemplateValues123";
+            }
+        };
+
+        this.toStringAndCheck(
+            RenderOnlyTemplateContextCacheFunction.with(
+                templateValues,
+                Maps.hash()
+            ),
+            "TemplateValues123"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<RenderOnlyTemplateContextCacheFunction> type() {
+        return RenderOnlyTemplateContextCacheFunction.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
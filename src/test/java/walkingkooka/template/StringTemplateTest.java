@@ -19,11 +19,19 @@ package walkingkooka.template;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallingTesting;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-public final class StringTemplateTest implements TemplateTesting2<StringTemplate> {
+public final class StringTemplateTest implements TemplateTesting2<StringTemplate>,
+    JsonNodeMarshallingTesting<StringTemplate> {
+
+    static {
+        TemplateStartup.init();
+    }
 
     // with.............................................................................................................
 
@@ -135,6 +143,38 @@ public final class StringTemplateTest implements TemplateTesting2<StringTemplate
         );
     }
 
+    // json.............................................................................................................
+
+    @Test
+    public void testMarshall() {
+        this.marshallAndCheck(
+            StringTemplate.with("Hello"),
+            JsonNode.string("Hello")
+        );
+    }
+
+    @Test
+    public void testUnmarshall() {
+        this.unmarshallAndCheck(
+            JsonNode.string("Hello"),
+            StringTemplate.with("Hello")
+        );
+    }
+
+    @Override
+    public StringTemplate unmarshall(final JsonNode json,
+                                     final JsonNodeUnmarshallContext context) {
+        return TemplateJson.unmarshallStringTemplate(
+            json,
+            context
+        );
+    }
+
+    @Override
+    public StringTemplate createJsonNodeMarshallingValue() {
+        return StringTemplate.with("Hello");
+    }
+
     // class............................................................................................................
 
     @Override
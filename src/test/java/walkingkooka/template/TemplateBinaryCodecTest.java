@@ -0,0 +1,442 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.template.url.UrlPathTemplate;
+import walkingkooka.tree.expression.Expression;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateBinaryCodecTest implements ClassTesting<TemplateBinaryCodec>,
+    ToStringTesting<TemplateBinaryCodec> {
+
+    private final static Expression EXPRESSION = Expression.add(
+        Expression.value(1),
+        Expression.value(2)
+    );
+
+    private final static Map<String, Expression> EXPRESSIONS = Maps.of(
+        "1+2",
+        EXPRESSION
+    );
+
+    private final static Function<Expression, String> ENCODER = (e) -> "1+2";
+
+    private final static Function<String, Expression> DECODER = EXPRESSIONS::get;
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullExpressionEncoderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateBinaryCodec.with(
+                null,
+                DECODER
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullExpressionDecoderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateBinaryCodec.with(
+                ENCODER,
+                null
+            )
+        );
+    }
+
+    // encode...........................................................................................................
+
+    @Test
+    public void testEncodeNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCodec()
+                .encode(null)
+        );
+    }
+
+    @Test
+    public void testEncodeUnsupportedTemplateFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createCodec()
+                .encode(Templates.fake())
+        );
+    }
+
+    @Test
+    public void testEncodeString() {
+        assertArrayEquals(
+            new byte[]{
+                TemplateBinaryCodec.MAGIC0,
+                TemplateBinaryCodec.MAGIC1,
+                TemplateBinaryCodec.VERSION,
+                1, // string count
+                2, 'H', 'i', // string 0
+                TemplateBinaryCodec.STRING,
+                0
+            },
+            this.createCodec()
+                .encode(
+                    Templates.string("Hi")
+                )
+        );
+    }
+
+    @Test
+    public void testEncodeStringsShared() {
+        final TemplateValueName name = TemplateValueName.with("abc");
+
+        assertArrayEquals(
+            new byte[]{
+                TemplateBinaryCodec.MAGIC0,
+                TemplateBinaryCodec.MAGIC1,
+                TemplateBinaryCodec.VERSION,
+                2, // string count
+                3, 'a', 'b', 'c', // string 0
+                1, '-', // string 1
+                TemplateBinaryCodec.COLLECTION,
+                3,
+                TemplateBinaryCodec.TEMPLATE_VALUE_NAME,
+                0,
+                TemplateBinaryCodec.STRING,
+                1,
+                TemplateBinaryCodec.TEMPLATE_VALUE_NAME,
+                0
+            },
+            this.createCodec()
+                .encode(
+                    Templates.collection(
+                        Lists.of(
+                            Templates.templateValueName(name),
+                            Templates.string("-"),
+                            Templates.templateValueName(name)
+                        )
+                    )
+                )
+        );
+    }
+
+    // decode...........................................................................................................
+
+    @Test
+    public void testDecodeNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCodec()
+                .decode((byte[]) null)
+        );
+    }
+
+    @Test
+    public void testDecodeNullInputStreamFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCodec()
+                .decode((InputStream) null)
+        );
+    }
+
+    @Test
+    public void testDecodeInputStream() {
+        final TemplateBinaryCodec codec = this.createCodec();
+        final Template template = Templates.collection(
+            Lists.of(
+                Templates.string("Hello "),
+                Templates.templateValueName(
+                    TemplateValueName.with("abc")
+                )
+            )
+        );
+
+        this.checkEquals(
+            template,
+            codec.decode(
+                new ByteArrayInputStream(
+                    codec.encode(template)
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testDecodeInvalidMagicFails() {
+        this.decodeFails(
+            new byte[]{
+                1,
+                2,
+                TemplateBinaryCodec.VERSION
+            },
+            "Invalid template bytes, missing magic"
+        );
+    }
+
+    @Test
+    public void testDecodeUnsupportedVersionFails() {
+        this.decodeFails(
+            new byte[]{
+                TemplateBinaryCodec.MAGIC0,
+                TemplateBinaryCodec.MAGIC1,
+                99
+            },
+            "Unsupported template bytes version 99"
+        );
+    }
+
+    @Test
+    public void testDecodeTruncatedFails() {
+        this.decodeFails(
+            new byte[]{
+                TemplateBinaryCodec.MAGIC0,
+                TemplateBinaryCodec.MAGIC1,
+                TemplateBinaryCodec.VERSION,
+                0,
+                TemplateBinaryCodec.COLLECTION,
+                2
+            },
+            "Invalid template bytes, truncated at 6"
+        );
+    }
+
+    @Test
+    public void testDecodeStringCountExceedsInputFails() {
+        this.decodeFails(
+            new byte[]{
+                TemplateBinaryCodec.MAGIC0,
+                TemplateBinaryCodec.MAGIC1,
+                TemplateBinaryCodec.VERSION,
+                (byte) 0xff,
+                (byte) 0xff,
+                (byte) 0xff,
+                (byte) 0xff,
+                0x07
+            },
+            "Invalid template bytes, string count 2147483647 exceeds remaining 0 at 8"
+        );
+    }
+
+    @Test
+    public void testDecodeStringLengthExceedsInputFails() {
+        this.decodeFails(
+            new byte[]{
+                TemplateBinaryCodec.MAGIC0,
+                TemplateBinaryCodec.MAGIC1,
+                TemplateBinaryCodec.VERSION,
+                1,
+                (byte) 0x80,
+                (byte) 0x80,
+                0x40,
+                'H'
+            },
+            "Invalid template bytes, string length 1048576 exceeds remaining 1 at 7"
+        );
+    }
+
+    @Test
+    public void testDecodeStringLengthTruncatedFails() {
+        this.decodeFails(
+            new byte[]{
+                TemplateBinaryCodec.MAGIC0,
+                TemplateBinaryCodec.MAGIC1,
+                TemplateBinaryCodec.VERSION,
+                1,
+                2,
+                'H'
+            },
+            "Invalid template bytes, string length 2 exceeds remaining 1 at 5"
+        );
+    }
+
+    @Test
+    public void testDecodeUnknownTagFails() {
+        this.decodeFails(
+            new byte[]{
+                TemplateBinaryCodec.MAGIC0,
+                TemplateBinaryCodec.MAGIC1,
+                TemplateBinaryCodec.VERSION,
+                0,
+                99
+            },
+            "Invalid template bytes, unknown tag 99 at 4"
+        );
+    }
+
+    @Test
+    public void testDecodeUnknownStringFails() {
+        this.decodeFails(
+            new byte[]{
+                TemplateBinaryCodec.MAGIC0,
+                TemplateBinaryCodec.MAGIC1,
+                TemplateBinaryCodec.VERSION,
+                0,
+                TemplateBinaryCodec.STRING,
+                0
+            },
+            "Invalid template bytes, unknown string 0"
+        );
+    }
+
+    @Test
+    public void testDecodeExtraBytesFails() {
+        this.decodeFails(
+            new byte[]{
+                TemplateBinaryCodec.MAGIC0,
+                TemplateBinaryCodec.MAGIC1,
+                TemplateBinaryCodec.VERSION,
+                1,
+                0,
+                TemplateBinaryCodec.STRING,
+                0,
+                0
+            },
+            "Invalid template bytes, unexpected bytes at 7"
+        );
+    }
+
+    private void decodeFails(final byte[] bytes,
+                             final String message) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createCodec()
+                .decode(bytes)
+        );
+        this.checkEquals(
+            message,
+            thrown.getMessage()
+        );
+    }
+
+    // roundtrip........................................................................................................
+
+    @Test
+    public void testRoundtripString() {
+        this.roundtripAndCheck(
+            Templates.string("Hello")
+        );
+    }
+
+    @Test
+    public void testRoundtripStringEmpty() {
+        this.roundtripAndCheck(
+            Templates.string("")
+        );
+    }
+
+    @Test
+    public void testRoundtripStringNonAscii() {
+        this.roundtripAndCheck(
+            Templates.string("\u00e9\u4e2d\ud83d\ude00")
+        );
+    }
+
+    @Test
+    public void testRoundtripTemplateValueName() {
+        this.roundtripAndCheck(
+            Templates.templateValueName(
+                TemplateValueName.with("abc")
+            )
+        );
+    }
+
+    @Test
+    public void testRoundtripExpression() {
+        this.roundtripAndCheck(
+            Templates.expression(EXPRESSION)
+        );
+    }
+
+    @Test
+    public void testRoundtripCollection() {
+        this.roundtripAndCheck(
+            Templates.collection(
+                Lists.of(
+                    Templates.string("Hello "),
+                    Templates.templateValueName(
+                        TemplateValueName.with("abc")
+                    ),
+                    Templates.string(" "),
+                    Templates.expression(EXPRESSION)
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testRoundtripUrlPathTemplate() {
+        this.roundtripAndCheck(
+            UrlPathTemplate.parse("/api/${abc}/${def}")
+        );
+    }
+
+    private void roundtripAndCheck(final Template template) {
+        final TemplateBinaryCodec codec = this.createCodec();
+
+        this.checkEquals(
+            template,
+            codec.decode(
+                codec.encode(template)
+            ),
+            template::toString
+        );
+    }
+
+    private TemplateBinaryCodec createCodec() {
+        return TemplateBinaryCodec.with(
+            ENCODER,
+            DECODER
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createCodec(),
+            ENCODER + " " + DECODER
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateBinaryCodec> type() {
+        return TemplateBinaryCodec.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
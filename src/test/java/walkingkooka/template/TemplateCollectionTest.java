@@ -21,11 +21,19 @@ import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallingTesting;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-public final class TemplateCollectionTest implements TemplateTesting2<TemplateCollection> {
+public final class TemplateCollectionTest implements TemplateTesting2<TemplateCollection>,
+    JsonNodeMarshallingTesting<TemplateCollection> {
+
+    static {
+        TemplateStartup.init();
+    }
 
     // with.............................................................................................................
 
@@ -144,6 +152,48 @@ public final class TemplateCollectionTest implements TemplateTesting2<TemplateCo
         );
     }
 
+    @Test
+    public void testTemplateValueNamesIncludesExpressionReferences() {
+        final TemplateValueName value1 = TemplateValueName.with("value1");
+        final TemplateValueName value2 = TemplateValueName.with("value2");
+        final TemplateValueName value3 = TemplateValueName.with("value3");
+
+        this.templateValueNamesAndCheck(
+            TemplateCollection.with(
+                Lists.of(
+                    Templates.templateValueName(value3),
+                    Templates.expression(
+                        Expression.add(
+                            Expression.reference(value2),
+                            Expression.reference(value1)
+                        )
+                    ),
+                    Templates.templateValueName(value1)
+                )
+            ),
+            value1,
+            value2,
+            value3
+        );
+    }
+
+    @Test
+    public void testTemplateValueNamesSame() {
+        final Template template = TemplateCollection.with(
+            Lists.of(
+                Templates.string("string1"),
+                Templates.templateValueName(
+                    TemplateValueName.with("value1")
+                )
+            )
+        );
+
+        assertSame(
+            template.templateValueNames(),
+            template.templateValueNames()
+        );
+    }
+
     @Override
     public TemplateCollection createTemplate() {
         return (TemplateCollection)
@@ -221,6 +271,78 @@ public final class TemplateCollectionTest implements TemplateTesting2<TemplateCo
         );
     }
 
+    // json.............................................................................................................
+
+    @Test
+    public void testUnmarshallOneTemplateFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.unmarshall(
+                this.marshallContext()
+                    .marshallCollectionWithType(
+                        Lists.of(
+                            Templates.string("Hello")
+                        )
+                    ),
+                this.unmarshallContext()
+            )
+        );
+        this.checkEquals(
+            "Expected at least 2 templates but got 1",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testMarshallRoundtripMixed() {
+        this.marshallRoundTripTwiceAndCheck(
+            (TemplateCollection)
+                TemplateCollection.with(
+                    Lists.of(
+                        Templates.string("Hello "),
+                        Templates.templateValueName(
+                            TemplateValueName.with("abc")
+                        ),
+                        Templates.string("!")
+                    )
+                )
+        );
+    }
+
+    @Test
+    public void testMarshallRoundtripWithExpression() {
+        this.marshallRoundTripTwiceAndCheck(
+            (TemplateCollection)
+                TemplateCollection.with(
+                    Lists.of(
+                        Templates.string("Hello "),
+                        Templates.expression(
+                            Expression.add(
+                                Expression.value("abc"),
+                                Expression.reference(
+                                    TemplateValueName.with("def")
+                                )
+                            )
+                        )
+                    )
+                )
+        );
+    }
+
+    @Override
+    public TemplateCollection unmarshall(final JsonNode json,
+                                         final JsonNodeUnmarshallContext context) {
+        return TemplateJson.unmarshallTemplateCollection(
+            json,
+            context
+        );
+    }
+
+    @Override
+    public TemplateCollection createJsonNodeMarshallingValue() {
+        return this.createTemplate();
+    }
+
     // class............................................................................................................
 
     @Override
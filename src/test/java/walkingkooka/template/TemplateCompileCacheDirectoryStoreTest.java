@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateCompileCacheDirectoryStoreTest implements ClassTesting<TemplateCompileCacheDirectoryStore> {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testWithNullDirectoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateCompileCacheDirectoryStore.with(null)
+        );
+    }
+
+    @Test
+    public void testLoadMissing() {
+        this.checkEquals(
+            Optional.empty(),
+            TemplateCompileCacheDirectoryStore.with(this.directory)
+                .load(123)
+        );
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        final TemplateCompileCacheDirectoryStore store = TemplateCompileCacheDirectoryStore.with(this.directory);
+        final byte[] bytes = new byte[]{1, 2, 3};
+
+        store.save(
+            123,
+            bytes
+        );
+
+        this.loadAndCheck(
+            store,
+            123,
+            bytes
+        );
+    }
+
+    @Test
+    public void testSaveThenReopen() {
+        final byte[] bytes1 = new byte[]{1, 2, 3};
+        final byte[] bytes2 = new byte[]{4, 5};
+
+        final TemplateCompileCacheDirectoryStore store = TemplateCompileCacheDirectoryStore.with(this.directory);
+        store.save(
+            -1,
+            bytes1
+        );
+        store.save(
+            2,
+            bytes2
+        );
+
+        final TemplateCompileCacheDirectoryStore reopened = TemplateCompileCacheDirectoryStore.with(this.directory);
+        this.loadAndCheck(
+            reopened,
+            -1,
+            bytes1
+        );
+        this.loadAndCheck(
+            reopened,
+            2,
+            bytes2
+        );
+    }
+
+    @Test
+    public void testSaveReplacesThenReopen() {
+        final byte[] bytes = new byte[]{4, 5, 6, 7};
+
+        final TemplateCompileCacheDirectoryStore store = TemplateCompileCacheDirectoryStore.with(this.directory);
+        store.save(
+            1,
+            new byte[]{1, 2, 3}
+        );
+        store.save(
+            1,
+            bytes
+        );
+
+        this.loadAndCheck(
+            store,
+            1,
+            bytes
+        );
+        this.loadAndCheck(
+            TemplateCompileCacheDirectoryStore.with(this.directory),
+            1,
+            bytes
+        );
+    }
+
+    @Test
+    public void testPartialRecordTruncated() throws IOException {
+        final byte[] bytes1 = new byte[]{1, 2, 3};
+        final byte[] bytes2 = new byte[]{4, 5};
+
+        TemplateCompileCacheDirectoryStore.with(this.directory)
+            .save(
+                1,
+                bytes1
+            );
+
+        // partial record, fingerprint and a length longer than the remaining bytes
+        Files.write(
+            this.file(),
+            new byte[]{0, 0, 0, 0, 0, 0, 0, 2, 0, 0, 0, 99, 1},
+            StandardOpenOption.APPEND
+        );
+
+        final TemplateCompileCacheDirectoryStore store = TemplateCompileCacheDirectoryStore.with(this.directory);
+        this.loadAndCheck(
+            store,
+            1,
+            bytes1
+        );
+        this.checkEquals(
+            Optional.empty(),
+            store.load(2)
+        );
+        this.checkEquals(
+            8L + 4 + bytes1.length,
+            Files.size(this.file()),
+            "partial record should be truncated"
+        );
+
+        store.save(
+            2,
+            bytes2
+        );
+
+        final TemplateCompileCacheDirectoryStore reopened = TemplateCompileCacheDirectoryStore.with(this.directory);
+        this.loadAndCheck(
+            reopened,
+            1,
+            bytes1
+        );
+        this.loadAndCheck(
+            reopened,
+            2,
+            bytes2
+        );
+    }
+
+    @Test
+    public void testOversizedFileDiscarded() throws IOException {
+        final byte[] bytes = new byte[]{1, 2, 3};
+
+        TemplateCompileCacheDirectoryStore.with(this.directory)
+            .save(
+                1,
+                new byte[32]
+            );
+
+        final TemplateCompileCacheDirectoryStore store = TemplateCompileCacheDirectoryStore.with(
+            this.directory,
+            16
+        );
+        this.checkEquals(
+            Optional.empty(),
+            store.load(1)
+        );
+        this.checkEquals(
+            0L,
+            Files.size(this.file()),
+            "oversized file should be truncated"
+        );
+
+        store.save(
+            2,
+            bytes
+        );
+        this.loadAndCheck(
+            TemplateCompileCacheDirectoryStore.with(
+                this.directory,
+                16
+            ),
+            2,
+            bytes
+        );
+    }
+
+    @Test
+    public void testSavePastMaxFileSizeOnlyInMemory() throws IOException {
+        final byte[] bytes = new byte[32];
+
+        final TemplateCompileCacheDirectoryStore store = TemplateCompileCacheDirectoryStore.with(
+            this.directory,
+            16
+        );
+        store.save(
+            1,
+            bytes
+        );
+
+        this.loadAndCheck(
+            store,
+            1,
+            bytes
+        );
+        this.checkEquals(
+            0L,
+            Files.size(this.file()),
+            "file size"
+        );
+    }
+
+    @Test
+    public void testUnreadableFileDiscarded() throws IOException {
+        final byte[] bytes = new byte[]{1, 2, 3};
+
+        Files.createDirectory(this.file());
+
+        final TemplateCompileCacheDirectoryStore store = TemplateCompileCacheDirectoryStore.with(this.directory);
+        this.checkEquals(
+            Optional.empty(),
+            store.load(1)
+        );
+
+        store.save(
+            1,
+            bytes
+        );
+        this.loadAndCheck(
+            TemplateCompileCacheDirectoryStore.with(this.directory),
+            1,
+            bytes
+        );
+    }
+
+    private Path file() {
+        return this.directory.resolve(TemplateCompileCacheDirectoryStore.FILE_NAME);
+    }
+
+    private void loadAndCheck(final TemplateCompileCacheDirectoryStore store,
+                              final long fingerprint,
+                              final byte[] expected) {
+        try (final InputStream input = store.load(fingerprint).get()) {
+            assertArrayEquals(
+                expected,
+                input.readAllBytes()
+            );
+        } catch (final IOException cause) {
+            throw new UncheckedIOException(cause);
+        }
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+            this.directory.toString(),
+            TemplateCompileCacheDirectoryStore.with(this.directory)
+                .toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateCompileCacheDirectoryStore> type() {
+        return TemplateCompileCacheDirectoryStore.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
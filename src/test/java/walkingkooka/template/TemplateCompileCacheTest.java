@@ -0,0 +1,466 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateCompileCacheTest implements ClassTesting<TemplateCompileCache> {
+
+    private final static String PARSER_ID = "parser-1";
+
+    private final static String TEXT = "Hello ${abc} and ${def}";
+
+    private final static int MAX_TEMPLATES = 100;
+
+    private final static TemplateBinaryCodec CODEC = TemplateBinaryCodec.with(
+        (e) -> {
+            throw new UnsupportedOperationException();
+        },
+        (s) -> {
+            throw new UnsupportedOperationException();
+        }
+    );
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateCompileCache.with(
+                null,
+                PARSER_ID,
+                CODEC,
+                TemplateCompileCacheStores.memory(),
+                MAX_TEMPLATES
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullParserIdFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateCompileCache.with(
+                this.createContext(Lists.array()),
+                null,
+                CODEC,
+                TemplateCompileCacheStores.memory(),
+                MAX_TEMPLATES
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullCodecFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateCompileCache.with(
+                this.createContext(Lists.array()),
+                PARSER_ID,
+                null,
+                TemplateCompileCacheStores.memory(),
+                MAX_TEMPLATES
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullStoreFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateCompileCache.with(
+                this.createContext(Lists.array()),
+                PARSER_ID,
+                CODEC,
+                null,
+                MAX_TEMPLATES
+            )
+        );
+    }
+
+    @Test
+    public void testWithNegativeMaxTemplatesFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateCompileCache.with(
+                this.createContext(Lists.array()),
+                PARSER_ID,
+                CODEC,
+                TemplateCompileCacheStores.memory(),
+                -1
+            )
+        );
+        this.checkEquals(
+            "Invalid maxTemplates -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    // parse............................................................................................................
+
+    @Test
+    public void testParseMaxTemplatesZeroDecodesFromStore() {
+        final List<String> parsed = Lists.array();
+
+        final TemplateCompileCache cache = TemplateCompileCache.with(
+            this.createContext(parsed),
+            PARSER_ID,
+            CODEC,
+            TemplateCompileCacheStores.memory(),
+            0
+        );
+
+        final Template template = cache.parse(TEXT);
+        this.checkEquals(
+            template,
+            cache.parse(TEXT)
+        );
+        this.checkEquals(
+            Lists.of("${abc}", "${def}"),
+            parsed,
+            "parsed"
+        );
+        this.checkEquals(
+            1L,
+            cache.hits(),
+            "hits"
+        );
+        this.checkEquals(
+            1L,
+            cache.misses(),
+            "misses"
+        );
+    }
+
+    @Test
+    public void testParseConcurrently() throws Exception {
+        final TemplateCompileCache cache = TemplateCompileCache.with(
+            this.createContext(
+                Collections.synchronizedList(
+                    Lists.array()
+                )
+            ),
+            PARSER_ID,
+            CODEC,
+            TemplateCompileCacheStores.memory(),
+            MAX_TEMPLATES
+        );
+        final List<Thread> threads = Lists.array();
+        final List<Template> templates = Lists.array();
+
+        for (int i = 0; i < 8; i++) {
+            final String text = "Hello ${abc} " + (i % 4);
+            threads.add(
+                new Thread(
+                    () -> {
+                        final Template template = cache.parse(text);
+                        synchronized (templates) {
+                            templates.add(template);
+                        }
+                    }
+                )
+            );
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        this.checkEquals(
+            8,
+            templates.size(),
+            "templates"
+        );
+        this.checkEquals(
+            4L,
+            cache.misses(),
+            "misses"
+        );
+    }
+
+    @Test
+    public void testParseMissParsesAndSaves() {
+        final List<String> parsed = Lists.array();
+        final TemplateCompileCacheStore store = TemplateCompileCacheStores.memory();
+
+        final TemplateCompileCache cache = TemplateCompileCache.with(
+            this.createContext(parsed),
+            PARSER_ID,
+            CODEC,
+            store,
+            MAX_TEMPLATES
+        );
+
+        final Template template = cache.parse(TEXT);
+        this.checkEquals(
+            this.createContext(Lists.array())
+                .parseTemplateString(TEXT),
+            template
+        );
+        this.checkEquals(
+            Lists.of("${abc}", "${def}"),
+            parsed
+        );
+        this.checkEquals(
+            true,
+            store.load(cache.fingerprint(TEXT))
+                .isPresent(),
+            "saved"
+        );
+        this.checkEquals(
+            1L,
+            cache.misses(),
+            "misses"
+        );
+
+        assertSame(
+            template,
+            cache.parse(TEXT)
+        );
+        this.checkEquals(
+            1L,
+            cache.misses(),
+            "misses"
+        );
+    }
+
+    @Test
+    public void testParseDecodesFromStore() {
+        final TemplateCompileCacheStore store = TemplateCompileCacheStores.memory();
+
+        final Template template = TemplateCompileCache.with(
+            this.createContext(Lists.array()),
+            PARSER_ID,
+            CODEC,
+            store,
+            MAX_TEMPLATES
+        ).parse(TEXT);
+
+        final List<String> parsed = Lists.array();
+        final TemplateCompileCache cache = TemplateCompileCache.with(
+            this.createContext(parsed),
+            PARSER_ID,
+            CODEC,
+            store,
+            MAX_TEMPLATES
+        );
+
+        this.checkEquals(
+            template,
+            cache.parse(TEXT)
+        );
+        this.checkEquals(
+            Lists.empty(),
+            parsed,
+            "parsed"
+        );
+        this.checkEquals(
+            1L,
+            cache.hits(),
+            "hits"
+        );
+    }
+
+    @Test
+    public void testParseCorruptEntryParsedAgain() {
+        final TemplateCompileCacheStore store = TemplateCompileCacheStores.memory();
+
+        final TemplateCompileCache first = TemplateCompileCache.with(
+            this.createContext(Lists.array()),
+            PARSER_ID,
+            CODEC,
+            store,
+            MAX_TEMPLATES
+        );
+        final Template template = first.parse(TEXT);
+
+        final long fingerprint = first.fingerprint(TEXT);
+        final byte[] bytes = load(
+            store,
+            fingerprint
+        );
+        bytes[bytes.length - 1]++;
+        store.save(
+            fingerprint,
+            bytes
+        );
+
+        final List<String> parsed = Lists.array();
+        final TemplateCompileCache cache = TemplateCompileCache.with(
+            this.createContext(parsed),
+            PARSER_ID,
+            CODEC,
+            store,
+            MAX_TEMPLATES
+        );
+
+        this.checkEquals(
+            template,
+            cache.parse(TEXT)
+        );
+        this.checkEquals(
+            Lists.of("${abc}", "${def}"),
+            parsed,
+            "parsed"
+        );
+        this.checkEquals(
+            false,
+            Arrays.equals(
+                bytes,
+                load(
+                    store,
+                    fingerprint
+                )
+            ),
+            "replaced"
+        );
+    }
+
+    @Test
+    public void testParseFingerprintCollisionParsedAgain() {
+        final String other = "Other ${xyz}";
+        final TemplateCompileCacheStore store = TemplateCompileCacheStores.memory();
+
+        final TemplateCompileCache first = TemplateCompileCache.with(
+            this.createContext(Lists.array()),
+            PARSER_ID,
+            CODEC,
+            store,
+            MAX_TEMPLATES
+        );
+        first.parse(other);
+
+        // simulate another text with the same fingerprint
+        store.save(
+            first.fingerprint(TEXT),
+            load(
+                store,
+                first.fingerprint(other)
+            )
+        );
+
+        final List<String> parsed = Lists.array();
+        final TemplateCompileCache cache = TemplateCompileCache.with(
+            this.createContext(parsed),
+            PARSER_ID,
+            CODEC,
+            store,
+            MAX_TEMPLATES
+        );
+
+        this.checkEquals(
+            this.createContext(Lists.array())
+                .parseTemplateString(TEXT),
+            cache.parse(TEXT)
+        );
+        this.checkEquals(
+            Lists.of("${abc}", "${def}"),
+            parsed,
+            "parsed"
+        );
+        this.checkEquals(
+            0L,
+            cache.hits(),
+            "hits"
+        );
+    }
+
+    private static byte[] load(final TemplateCompileCacheStore store,
+                               final long fingerprint) {
+        try (final InputStream input = store.load(fingerprint).get()) {
+            return input.readAllBytes();
+        } catch (final IOException cause) {
+            throw new UncheckedIOException(cause);
+        }
+    }
+
+    // fingerprint......................................................................................................
+
+    @Test
+    public void testFingerprintDifferentParserId() {
+        assertNotEquals(
+            this.createCache(PARSER_ID)
+                .fingerprint(TEXT),
+            this.createCache("parser-2")
+                .fingerprint(TEXT)
+        );
+    }
+
+    @Test
+    public void testFingerprintDifferentText() {
+        final TemplateCompileCache cache = this.createCache(PARSER_ID);
+
+        assertNotEquals(
+            cache.fingerprint(TEXT),
+            cache.fingerprint(TEXT + " ")
+        );
+    }
+
+    @Test
+    public void testFingerprintStable() {
+        this.checkEquals(
+            this.createCache(PARSER_ID)
+                .fingerprint(TEXT),
+            this.createCache(PARSER_ID)
+                .fingerprint(TEXT)
+        );
+    }
+
+    private TemplateCompileCache createCache(final String parserId) {
+        return TemplateCompileCache.with(
+            this.createContext(Lists.array()),
+            parserId,
+            CODEC,
+            TemplateCompileCacheStores.memory(),
+            MAX_TEMPLATES
+        );
+    }
+
+    private TemplateContext createContext(final List<String> parsed) {
+        return RecordingTemplateContext.with(parsed);
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateCompileCache> type() {
+        return TemplateCompileCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.tree.expression.ExpressionEvaluationContexts;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the time to the first render in a new JVM, where no template classes have been loaded, and verifies
+ * rendering does not load the json registrations.
+ */
+public final class TemplateFirstRenderTest {
+
+    private final static String TEMPLATE = "Hello ${name}";
+
+    private final static String RENDERED = "Hello World";
+
+    @Test
+    public void testTimeToFirstRender() throws Exception {
+        final File java = new File(
+            System.getProperty("java.home"),
+            "bin" + File.separator + "java"
+        );
+        assumeTrue(
+            java.canExecute() || new File(java.getPath() + ".exe").canExecute(),
+            "java executable missing"
+        );
+
+        final long start = System.nanoTime();
+
+        final Process process = new ProcessBuilder(
+            java.getPath(),
+            "-verbose:class",
+            "-cp",
+            System.getProperty("java.class.path"),
+            TemplateFirstRenderTest.class.getName()
+        ).redirectErrorStream(true)
+            .start();
+
+        final String output;
+        try (final InputStream input = process.getInputStream()) {
+            output = new String(
+                input.readAllBytes(),
+                Charset.defaultCharset()
+            );
+        }
+        assertTrue(
+            process.waitFor(60, TimeUnit.SECONDS),
+            "timed out"
+        );
+
+        final long jvm = System.nanoTime() - start;
+
+        assertEquals(
+            0,
+            process.exitValue(),
+            output
+        );
+
+        final int rendered = output.indexOf(RENDERED + " ");
+        assertTrue(
+            -1 != rendered,
+            () -> "Missing " + RENDERED + " in " + output
+        );
+        assertFalse(
+            output.contains(TemplateJson.class.getName() + " "),
+            () -> "Rendering should not load " + TemplateJson.class.getName()
+        );
+
+        final String firstRender = output.substring(
+            rendered + RENDERED.length() + 1
+        ).split("\\s")[0];
+
+        System.out.println(
+            "Time to first render " +
+                TimeUnit.NANOSECONDS.toMillis(Long.parseLong(firstRender)) +
+                "ms, including JVM startup " +
+                TimeUnit.NANOSECONDS.toMillis(jvm) +
+                "ms"
+        );
+    }
+
+    /**
+     * Parses and renders {@link #TEMPLATE} then prints the rendered text followed by the nanos that took.
+     */
+    public static void main(final String[] args) {
+        final long start = System.nanoTime();
+
+        final String rendered = TemplateContexts.basic(
+            (final TextCursor t) -> {
+                throw new UnsupportedOperationException();
+            },
+            (n) -> Templates.string("World"),
+            LineEnding.NL,
+            ExpressionEvaluationContexts.fake()
+        ).parseTemplateAndRenderToString(
+            TEMPLATE,
+            LineEnding.NL
+        );
+
+        final long nanos = System.nanoTime() - start;
+
+        System.out.println(rendered + " " + nanos);
+        System.out.flush();
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionEvaluationContexts;
+import walkingkooka.tree.expression.ValueExpression;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateHotProfileTest implements ClassTesting<TemplateHotProfile>,
+    ToStringTesting<TemplateHotProfile> {
+
+    // record...........................................................................................................
+
+    @Test
+    public void testRecordTemplateNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateHotProfile.empty()
+                .recordTemplate(null)
+        );
+    }
+
+    @Test
+    public void testRecordUrlPathNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateHotProfile.empty()
+                .recordUrlPath(null)
+        );
+    }
+
+    @Test
+    public void testRecordTemplateConcurrently() throws Exception {
+        final TemplateHotProfile profile = TemplateHotProfile.empty();
+
+        final List<Thread> threads = Lists.array();
+        for (int i = 0; i < 4; i++) {
+            threads.add(
+                new Thread(
+                    () -> {
+                        for (int j = 0; j < 1000; j++) {
+                            profile.recordTemplate("hot ${a}");
+                        }
+                    }
+                )
+            );
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        this.checkEquals(
+            "t 4000 hot ${a}\n",
+            profile.save(10)
+        );
+    }
+
+    // save.............................................................................................................
+
+    @Test
+    public void testSaveNegativeMaxFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateHotProfile.empty()
+                .save(-1)
+        );
+    }
+
+    @Test
+    public void testSaveEmpty() {
+        this.checkEquals(
+            "",
+            TemplateHotProfile.empty()
+                .save(10)
+        );
+    }
+
+    @Test
+    public void testSave() {
+        final TemplateHotProfile profile = TemplateHotProfile.empty();
+        profile.recordTemplate("cold");
+        profile.recordTemplate("hot ${a}");
+        profile.recordTemplate("hot ${a}");
+        profile.recordTemplate("hot ${a}");
+        profile.recordTemplate("warm\\\n");
+        profile.recordTemplate("warm\\\n");
+        profile.recordUrlPath("/api/${id}");
+
+        this.checkEquals(
+            "t 3 hot ${a}\n" +
+                "t 2 warm\\\\\\n\n" +
+                "u 1 /api/${id}\n",
+            profile.save(2)
+        );
+    }
+
+    @Test
+    public void testSaveTiesSortedBySource() {
+        final TemplateHotProfile profile = TemplateHotProfile.empty();
+        profile.recordTemplate("c");
+        profile.recordTemplate("b");
+        profile.recordTemplate("a");
+
+        this.checkEquals(
+            "t 1 a\n" +
+                "t 1 b\n",
+            profile.save(2)
+        );
+    }
+
+    // load.............................................................................................................
+
+    @Test
+    public void testLoadNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateHotProfile.load(null)
+        );
+    }
+
+    @Test
+    public void testLoadInvalidKindFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateHotProfile.load("t 1 ok\nx 1 bad\n")
+        );
+        this.checkEquals(
+            "Invalid line 2 x 1 bad",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testLoadInvalidCountFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateHotProfile.load("t abc bad\n")
+        );
+        this.checkEquals(
+            "Invalid line 1 t abc bad",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testSaveLoadRoundtrip() {
+        final TemplateHotProfile profile = TemplateHotProfile.empty();
+        profile.recordTemplate("Hello ${name}\r\n");
+        profile.recordTemplate("Hello ${name}\r\n");
+        profile.recordTemplate("Back\\slash");
+        profile.recordUrlPath("/api/${id}");
+
+        final String saved = profile.save(10);
+
+        this.checkEquals(
+            saved,
+            TemplateHotProfile.load(saved)
+                .save(10)
+        );
+    }
+
+    // warmUp...........................................................................................................
+
+    @Test
+    public void testWarmUpNullParserFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateHotProfile.empty()
+                .warmUp(
+                    null,
+                    LineEnding.NL,
+                    TemplateContexts.fake()
+                )
+        );
+    }
+
+    @Test
+    public void testWarmUpNullLineEndingFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateHotProfile.empty()
+                .warmUp(
+                    (s) -> Templates.string(s),
+                    null,
+                    TemplateContexts.fake()
+                )
+        );
+    }
+
+    @Test
+    public void testWarmUpNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateHotProfile.empty()
+                .warmUp(
+                    (s) -> Templates.string(s),
+                    LineEnding.NL,
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testWarmUp() {
+        final TemplateHotProfile profile = TemplateHotProfile.load(
+            "t 3 Hello ${name}\n" +
+                "t 2 ${bad\n" +
+                "u 1 /api/${id}\n"
+        );
+
+        final TemplateContext context = TemplateContexts.basic(
+            (final TextCursor t) -> Templates.templateValueName(
+                TemplateValueName.parse(t)
+                    .orElseThrow(() -> new IllegalArgumentException("Missing name"))
+            ),
+            (n) -> Templates.string(n.value()),
+            LineEnding.NL,
+            ExpressionEvaluationContexts.fake()
+        );
+
+        final List<String> parsed = Lists.array();
+
+        this.checkEquals(
+            2,
+            profile.warmUp(
+                (s) -> {
+                    parsed.add(s);
+                    return context.parseTemplateString(s);
+                },
+                LineEnding.NL,
+                context
+            )
+        );
+        this.checkEquals(
+            Lists.of(
+                "${bad",
+                "Hello ${name}"
+            ),
+            parsed
+        );
+    }
+
+    @Test
+    public void testWarmUpRendersExpressionsWithContext() {
+        final TemplateHotProfile profile = TemplateHotProfile.load(
+            "t 1 ${greeting}\n"
+        );
+
+        final List<Expression> evaluated = Lists.array();
+
+        this.checkEquals(
+            1,
+            profile.warmUp(
+                (s) -> Templates.expression(
+                    Expression.value("Hello")
+                ),
+                LineEnding.NL,
+                new FakeTemplateContext() {
+                    @Override
+                    public String evaluateAsString(final Expression expression) {
+                        evaluated.add(expression);
+                        return ((ValueExpression) expression).value()
+                            .toString();
+                    }
+                }
+            )
+        );
+        this.checkEquals(
+            Lists.of(
+                Expression.value("Hello")
+            ),
+            evaluated
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TemplateHotProfile profile = TemplateHotProfile.empty();
+        profile.recordTemplate("a");
+        profile.recordTemplate("b");
+        profile.recordUrlPath("/c");
+
+        this.toStringAndCheck(
+            profile,
+            "2 template(s) 1 url path(s)"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateHotProfile> type() {
+        return TemplateHotProfile.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursors;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateIncrementalParserTest implements ClassTesting<TemplateIncrementalParser>,
+    ToStringTesting<TemplateIncrementalParser> {
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateIncrementalParser.with(null)
+        );
+    }
+
+    // parse............................................................................................................
+
+    @Test
+    public void testParseSameAsParseTemplate() {
+        final String text = "Hello \\${escaped} ${abc} and ${def}!";
+
+        this.checkEquals(
+            this.createContext(Lists.array())
+                .parseTemplate(
+                    TextCursors.charSequence(text)
+                ),
+            TemplateIncrementalParser.with(
+                this.createContext(Lists.array())
+            ).parse(text)
+        );
+    }
+
+    @Test
+    public void testParseDollarSignTextFails() {
+        final InvalidCharacterException thrown = assertThrows(
+            InvalidCharacterException.class,
+            () -> TemplateIncrementalParser.with(
+                this.createContext(Lists.array())
+            ).parse("Hello$123")
+        );
+
+        this.checkEquals(
+            "Invalid character '$' at 5",
+            thrown.getMessage()
+        );
+    }
+
+    // edit.............................................................................................................
+
+    @Test
+    public void testEditBeforeParseFails() {
+        assertThrows(
+            IllegalStateException.class,
+            () -> TemplateIncrementalParser.with(
+                this.createContext(Lists.array())
+            ).edit(0, 0, "")
+        );
+    }
+
+    @Test
+    public void testEditInvalidOffsetFails() {
+        final TemplateIncrementalParser parser = TemplateIncrementalParser.with(
+            this.createContext(Lists.array())
+        );
+        parser.parse("Hello");
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> parser.edit(6, 0, "")
+        );
+    }
+
+    @Test
+    public void testEditText() {
+        final List<String> parsed = Lists.array();
+
+        final TemplateIncrementalParser parser = TemplateIncrementalParser.with(
+            this.createContext(parsed)
+        );
+        parser.parse("Hello ${abc} and ${def}!");
+        parsed.clear();
+
+        //                               0123456789012
+        final Template template = parser.edit(
+            12,
+            5,
+            " or "
+        );
+
+        this.checkEquals(
+            "Hello ${abc} or ${def}!",
+            parser.text()
+        );
+        this.checkEquals(
+            Lists.empty(),
+            parsed,
+            "no expressions should be parsed again"
+        );
+        this.editAndCheck(
+            template,
+            "Hello ${abc} or ${def}!"
+        );
+    }
+
+    @Test
+    public void testEditWithinPlaceholder() {
+        final List<String> parsed = Lists.array();
+
+        final TemplateIncrementalParser parser = TemplateIncrementalParser.with(
+            this.createContext(parsed)
+        );
+        parser.parse("${abc} ${def} ${ghi}");
+        parsed.clear();
+
+        // replace "def" with "xyz"
+        final Template template = parser.edit(
+            9,
+            3,
+            "xyz"
+        );
+
+        this.checkEquals(
+            Lists.of("${xyz}"),
+            parsed
+        );
+        this.editAndCheck(
+            template,
+            "${abc} ${xyz} ${ghi}"
+        );
+    }
+
+    @Test
+    public void testEditInsertPlaceholder() {
+        final List<String> parsed = Lists.array();
+
+        final TemplateIncrementalParser parser = TemplateIncrementalParser.with(
+            this.createContext(parsed)
+        );
+        parser.parse("${abc}-${def}");
+        parsed.clear();
+
+        final Template template = parser.edit(
+            7,
+            0,
+            "${new}"
+        );
+
+        this.checkEquals(
+            Lists.of("${new}"),
+            parsed
+        );
+        this.editAndCheck(
+            template,
+            "${abc}-${new}${def}"
+        );
+
+        parsed.clear();
+
+        // remove the first placeholder
+        this.editAndCheck(
+            parser.edit(
+                0,
+                6,
+                ""
+            ),
+            "-${new}${def}"
+        );
+        this.checkEquals(
+            Lists.empty(),
+            parsed
+        );
+    }
+
+    private void editAndCheck(final Template template,
+                              final String text) {
+        this.checkEquals(
+            this.createContext(Lists.array())
+                .parseTemplate(
+                    TextCursors.charSequence(text)
+                ),
+            template,
+            () -> text
+        );
+    }
+
+    private TemplateContext createContext(final List<String> parsed) {
+        return RecordingTemplateContext.with(parsed);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TemplateContext context = TemplateContexts.fake();
+
+        this.toStringAndCheck(
+            TemplateIncrementalParser.with(context),
+            context.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateIncrementalParser> type() {
+        return TemplateIncrementalParser.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
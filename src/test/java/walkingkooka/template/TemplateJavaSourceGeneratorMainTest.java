@@ -0,0 +1,239 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.reflect.PublicStaticHelperTesting;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateJavaSourceGeneratorMainTest implements PublicStaticHelperTesting<TemplateJavaSourceGeneratorMain> {
+
+    @TempDir
+    Path templates;
+
+    @TempDir
+    Path output;
+
+    @Test
+    public void testMainMissingArgumentsFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateJavaSourceGeneratorMain.main(
+                new String[]{
+                    "templates"
+                }
+            )
+        );
+        this.checkEquals(
+            "Expected templateDirectory outputDirectory packageName but got 1 arguments",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testGenerateNullTemplateDirectoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateJavaSourceGeneratorMain.generate(
+                null,
+                this.output,
+                "sample"
+            )
+        );
+    }
+
+    @Test
+    public void testGenerateNullOutputDirectoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateJavaSourceGeneratorMain.generate(
+                this.templates,
+                null,
+                "sample"
+            )
+        );
+    }
+
+    @Test
+    public void testGenerateNullPackageNameFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateJavaSourceGeneratorMain.generate(
+                this.templates,
+                this.output,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testGenerate() throws IOException {
+        this.write(
+            "welcome-email.template",
+            "Hello ${name}"
+        );
+        this.write(
+            "ignored.txt",
+            "Ignored ${name}"
+        );
+
+        this.checkEquals(
+            Lists.of(
+                this.output.resolve("sample/WelcomeEmail.java")
+            ),
+            TemplateJavaSourceGeneratorMain.generate(
+                this.templates,
+                this.output,
+                "sample"
+            )
+        );
+
+        this.checkEquals(
+            TemplateJavaSourceGenerator.generate(
+                Templates.collection(
+                    Lists.of(
+                        Templates.string("Hello "),
+                        Templates.templateValueName(
+                            TemplateValueName.with("name")
+                        )
+                    )
+                ),
+                "sample",
+                "WelcomeEmail"
+            ),
+            this.read("sample/WelcomeEmail.java")
+        );
+    }
+
+    @Test
+    public void testGenerateSubDirectory() throws IOException {
+        this.write(
+            "email/footer.template",
+            "Regards"
+        );
+
+        this.checkEquals(
+            Lists.of(
+                this.output.resolve("sample/templates/email/Footer.java")
+            ),
+            TemplateJavaSourceGeneratorMain.generate(
+                this.templates,
+                this.output,
+                "sample.templates"
+            )
+        );
+
+        this.checkEquals(
+            TemplateJavaSourceGenerator.generate(
+                Templates.string("Regards"),
+                "sample.templates.email",
+                "Footer"
+            ),
+            this.read("sample/templates/email/Footer.java")
+        );
+    }
+
+    @Test
+    public void testGenerateExpressionFails() throws IOException {
+        final Path file = this.write(
+            "sum.template",
+            "${1 + 2}"
+        );
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateJavaSourceGeneratorMain.generate(
+                this.templates,
+                this.output,
+                "sample"
+            )
+        );
+        this.checkEquals(
+            file + ": Expressions are not supported",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testClassName() {
+        this.classNameAndCheck(
+            "footer.template",
+            "Footer"
+        );
+    }
+
+    @Test
+    public void testClassNameSeparators() {
+        this.classNameAndCheck(
+            "welcome-email_v2.template",
+            "WelcomeEmailV2"
+        );
+    }
+
+    private void classNameAndCheck(final String fileName,
+                                   final String expected) {
+        this.checkEquals(
+            expected,
+            TemplateJavaSourceGeneratorMain.className(fileName),
+            fileName
+        );
+    }
+
+    private Path write(final String path,
+                       final String text) throws IOException {
+        final Path file = this.templates.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(
+            file,
+            text.getBytes(StandardCharsets.UTF_8)
+        );
+        return file;
+    }
+
+    private String read(final String path) throws IOException {
+        return new String(
+            Files.readAllBytes(this.output.resolve(path)),
+            StandardCharsets.UTF_8
+        );
+    }
+
+    @Override
+    public Class<TemplateJavaSourceGeneratorMain> type() {
+        return TemplateJavaSourceGeneratorMain.class;
+    }
+
+    @Override
+    public boolean canHavePublicTypes(final Method method) {
+        return false;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
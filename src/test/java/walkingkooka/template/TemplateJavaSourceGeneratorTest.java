@@ -0,0 +1,270 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.reflect.PublicStaticHelperTesting;
+import walkingkooka.tree.expression.Expression;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateJavaSourceGeneratorTest implements PublicStaticHelperTesting<TemplateJavaSourceGenerator> {
+
+    @Test
+    public void testGenerateNullTemplateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateJavaSourceGenerator.generate(
+                null,
+                "sample",
+                "Sample"
+            )
+        );
+    }
+
+    @Test
+    public void testGenerateNullPackageNameFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateJavaSourceGenerator.generate(
+                Templates.string("Hello"),
+                null,
+                "Sample"
+            )
+        );
+    }
+
+    @Test
+    public void testGenerateInvalidPackageNameFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateJavaSourceGenerator.generate(
+                Templates.string("Hello"),
+                "sample..invalid",
+                "Sample"
+            )
+        );
+        this.checkEquals(
+            "Invalid packageName sample..invalid",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testGenerateNullClassNameFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateJavaSourceGenerator.generate(
+                Templates.string("Hello"),
+                "sample",
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testGenerateReservedPackageNameFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateJavaSourceGenerator.generate(
+                Templates.string("Hello"),
+                "sample.new",
+                "Sample"
+            )
+        );
+        this.checkEquals(
+            "Invalid packageName sample.new",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testGenerateReservedClassNameFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateJavaSourceGenerator.generate(
+                Templates.string("Hello"),
+                "sample",
+                "class"
+            )
+        );
+        this.checkEquals(
+            "Invalid className class",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testGenerateInvalidClassNameFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateJavaSourceGenerator.generate(
+                Templates.string("Hello"),
+                "sample",
+                "1Sample"
+            )
+        );
+        this.checkEquals(
+            "Invalid className 1Sample",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testGenerateExpressionTemplateFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateJavaSourceGenerator.generate(
+                Templates.expression(
+                    Expression.value("Hello")
+                ),
+                "sample",
+                "Sample"
+            )
+        );
+        this.checkEquals(
+            true,
+            thrown.getMessage()
+                .startsWith("Unsupported template ExpressionTemplate"),
+            thrown::getMessage
+        );
+    }
+
+    @Test
+    public void testGenerate() {
+        this.checkEquals(
+            "package sample.generated;\n" +
+                "\n" +
+                "import walkingkooka.collect.set.Sets;\n" +
+                "import walkingkooka.template.Template;\n" +
+                "import walkingkooka.template.TemplateContext;\n" +
+                "import walkingkooka.template.TemplateValueName;\n" +
+                "import walkingkooka.text.CharSequences;\n" +
+                "import walkingkooka.text.printer.IndentingPrinter;\n" +
+                "import walkingkooka.text.printer.Printer;\n" +
+                "\n" +
+                "import java.util.Objects;\n" +
+                "import java.util.Set;\n" +
+                "\n" +
+                "/**\n" +
+                " * Generated by TemplateJavaSourceGenerator, do not edit.\n" +
+                " */\n" +
+                "public final class Greeting implements Template {\n" +
+                "\n" +
+                "    private final static TemplateValueName NAME0 = TemplateValueName.with(\"first\");\n" +
+                "\n" +
+                "    private final static TemplateValueName NAME1 = TemplateValueName.with(\"last\");\n" +
+                "\n" +
+                "    private final static Set<TemplateValueName> NAMES = Sets.of(NAME0, NAME1);\n" +
+                "\n" +
+                "    private final static String SOURCE = \"Hello \\\"${first}\\\" ${last}\\n\";\n" +
+                "\n" +
+                "    public final static Greeting INSTANCE = new Greeting();\n" +
+                "\n" +
+                "    private Greeting() {\n" +
+                "        super();\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override\n" +
+                "    public void render(final Printer printer,\n" +
+                "                       final TemplateContext context) {\n" +
+                "        Objects.requireNonNull(printer, \"printer\");\n" +
+                "        Objects.requireNonNull(context, \"context\");\n" +
+                "        final TemplateContext renderContext = context.renderContext();\n" +
+                "        printer.print(\"Hello \\\"\");\n" +
+                "        printer.print(renderContext.templateValue(NAME0));\n" +
+                "        printer.print(\"\\\" \");\n" +
+                "        printer.print(renderContext.templateValue(NAME1));\n" +
+                "        printer.print(\"\\n\");\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override\n" +
+                "    public Set<TemplateValueName> templateValueNames() {\n" +
+                "        return NAMES;\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override\n" +
+                "    public Object value() {\n" +
+                "        return SOURCE;\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override\n" +
+                "    public void printTree(final IndentingPrinter printer) {\n" +
+                "        printer.println(this.getClass().getSimpleName());\n" +
+                "        printer.indent();\n" +
+                "        printer.println(CharSequences.quoteAndEscape(SOURCE));\n" +
+                "        printer.outdent();\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override\n" +
+                "    public String toString() {\n" +
+                "        return SOURCE;\n" +
+                "    }\n" +
+                "}\n",
+            TemplateJavaSourceGenerator.generate(
+                Templates.collection(
+                    Lists.of(
+                        Templates.string("Hello "),
+                        Templates.string("\""),
+                        Templates.templateValueName(
+                            TemplateValueName.with("first")
+                        ),
+                        Templates.string("\" "),
+                        Templates.templateValueName(
+                            TemplateValueName.with("last")
+                        ),
+                        Templates.string("\n")
+                    )
+                ),
+                "sample.generated",
+                "Greeting"
+            )
+        );
+    }
+
+    @Test
+    public void testGenerateEscapesNonAscii() {
+        this.checkEquals(
+            true,
+            TemplateJavaSourceGenerator.generate(
+                Templates.string("\u00e9\u0001"),
+                "",
+                "Sample"
+            ).contains("        printer.print(\"\\u00e9\\u0001\");\n")
+        );
+    }
+
+    @Override
+    public Class<TemplateJavaSourceGenerator> type() {
+        return TemplateJavaSourceGenerator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+
+    @Override
+    public boolean canHavePublicTypes(final Method method) {
+        return false;
+    }
+}
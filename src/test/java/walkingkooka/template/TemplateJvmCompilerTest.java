@@ -0,0 +1,217 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.reflect.PublicStaticHelperTesting;
+import walkingkooka.text.LineEnding;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ValueExpression;
+
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public final class TemplateJvmCompilerTest implements PublicStaticHelperTesting<TemplateJvmCompiler>,
+    TemplateTesting {
+
+    private final static TemplateValueName NAME1 = TemplateValueName.with("name1");
+
+    private final static TemplateValueName NAME2 = TemplateValueName.with("name2");
+
+    private final static TemplateContext CONTEXT = TemplateContexts.renderOnly(
+        (n) -> n.value().toUpperCase()
+    );
+
+    @Test
+    public void testCompileNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateJvmCompiler.compile(null)
+        );
+    }
+
+    @Test
+    public void testCompileNullFallbackFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateJvmCompiler.compile(
+                Templates.string("Hello"),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testCompileGeneratesClass() {
+        assumeTrue(
+            null != ToolProvider.getSystemJavaCompiler(),
+            "javac unavailable"
+        );
+
+        final Template template = Templates.collection(
+            Lists.of(
+                Templates.string("Hello "),
+                Templates.templateValueName(NAME1),
+                Templates.collection(
+                    Lists.of(
+                        Templates.string(" and \"quoted\" "),
+                        Templates.templateValueName(NAME2)
+                    )
+                ),
+                Templates.string("!")
+            )
+        );
+
+        final List<RuntimeException> fallbacks = Lists.array();
+        final Template compiled = TemplateJvmCompiler.compile(
+            template,
+            fallbacks::add
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            fallbacks,
+            "fallbacks"
+        );
+        this.checkEquals(
+            "walkingkooka.template.generated",
+            compiled.getClass()
+                .getPackageName(),
+            "package"
+        );
+        this.checkEquals(
+            template.renderToString(
+                LineEnding.NL,
+                CONTEXT
+            ),
+            compiled.renderToString(
+                LineEnding.NL,
+                CONTEXT
+            )
+        );
+        this.templateValueNamesAndCheck(
+            compiled,
+            NAME1,
+            NAME2
+        );
+        this.checkEquals(
+            template.toString(),
+            compiled.toString(),
+            "toString"
+        );
+    }
+
+    @Test
+    public void testCompileExpressionFallsBack() {
+        final Template template = Templates.collection(
+            Lists.of(
+                Templates.string("Hello "),
+                Templates.expression(
+                    Expression.value("World")
+                )
+            )
+        );
+
+        final List<RuntimeException> fallbacks = Lists.array();
+        final Template compiled = TemplateJvmCompiler.compile(
+            template,
+            fallbacks::add
+        );
+
+        this.checkEquals(
+            CompiledTemplate.class,
+            compiled.getClass()
+        );
+        this.checkEquals(
+            1,
+            fallbacks.size(),
+            "fallbacks"
+        );
+        this.checkEquals(
+            IllegalArgumentException.class,
+            fallbacks.get(0).getClass(),
+            "fallback"
+        );
+        this.checkEquals(
+            true,
+            fallbacks.get(0)
+                .getMessage()
+                .startsWith("Unsupported template ExpressionTemplate"),
+            fallbacks.get(0).getMessage()
+        );
+        this.checkEquals(
+            "Hello World",
+            compiled.renderToString(
+                LineEnding.NL,
+                new FakeTemplateContext() {
+                    @Override
+                    public String evaluateAsString(final Expression expression) {
+                        return ((ValueExpression) expression).value()
+                            .toString();
+                    }
+                }
+            )
+        );
+    }
+
+    // classPath........................................................................................................
+
+    @Test
+    public void testClassPathIncludesTemplateLocation() throws Exception {
+        final String location = Paths.get(
+            Template.class.getProtectionDomain()
+                .getCodeSource()
+                .getLocation()
+                .toURI()
+        ).toString();
+
+        this.checkEquals(
+            true,
+            Lists.of(
+                TemplateJvmCompiler.classPath()
+                    .split(File.pathSeparator)
+            ).contains(location),
+            location
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateJvmCompiler> type() {
+        return TemplateJvmCompiler.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+
+    @Override
+    public boolean canHavePublicTypes(final Method method) {
+        return false;
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ValueExpression;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateRenderCacheTest implements ClassTesting<TemplateRenderCache> {
+
+    private final static TemplateValueName NAME1 = TemplateValueName.with("name1");
+
+    private final static TemplateValueName NAME2 = TemplateValueName.with("name2");
+
+    private final static Template TEMPLATE = Templates.collection(
+        Lists.of(
+            Templates.string("Hello "),
+            Templates.templateValueName(NAME1)
+        )
+    );
+
+    private final static long TIME_TO_LIVE = 1000;
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithInvalidMaxCharactersFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateRenderCache.with(
+                0,
+                TIME_TO_LIVE,
+                () -> 0
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidTimeToLiveFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TemplateRenderCache.with(
+                100,
+                0,
+                () -> 0
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullNowFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateRenderCache.with(
+                100,
+                TIME_TO_LIVE,
+                null
+            )
+        );
+    }
+
+    // renderToString...................................................................................................
+
+    @Test
+    public void testRenderToStringNullTemplateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateRenderCache.with(
+                100,
+                TIME_TO_LIVE,
+                () -> 0
+            ).renderToString(
+                null,
+                LineEnding.NL,
+                TemplateContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testRenderToStringNullLineEndingFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateRenderCache.with(
+                100,
+                TIME_TO_LIVE,
+                () -> 0
+            ).renderToString(
+                TEMPLATE,
+                null,
+                TemplateContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testRenderToStringNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateRenderCache.with(
+                100,
+                TIME_TO_LIVE,
+                () -> 0
+            ).renderToString(
+                TEMPLATE,
+                LineEnding.NL,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testRenderToStringHit() {
+        final TemplateRenderCache cache = TemplateRenderCache.with(
+            100,
+            TIME_TO_LIVE,
+            () -> 0
+        );
+
+        final Map<TemplateValueName, String> values = Maps.sorted();
+        values.put(NAME1, "World");
+        values.put(NAME2, "Unreferenced");
+
+        this.renderToStringAndCheck(cache, values, "Hello World");
+
+        // NAME2 is not referenced and should not cause a miss
+        values.put(NAME2, "Different");
+
+        this.renderToStringAndCheck(cache, values, "Hello World");
+
+        this.checkEquals(1L, cache.hits(), "hits");
+        this.checkEquals(1L, cache.misses(), "misses");
+        this.checkEquals(0.5, cache.hitRatio(), "hitRatio");
+        this.checkEquals(1, cache.size(), "size");
+    }
+
+    @Test
+    public void testRenderToStringDifferentValueMisses() {
+        final TemplateRenderCache cache = TemplateRenderCache.with(
+            100,
+            TIME_TO_LIVE,
+            () -> 0
+        );
+
+        this.renderToStringAndCheck(cache, Maps.of(NAME1, "World"), "Hello World");
+        this.renderToStringAndCheck(cache, Maps.of(NAME1, "Moon"), "Hello Moon");
+
+        this.checkEquals(0L, cache.hits(), "hits");
+        this.checkEquals(2L, cache.misses(), "misses");
+        this.checkEquals(2, cache.size(), "size");
+    }
+
+    @Test
+    public void testRenderToStringExpires() {
+        final long[] now = new long[1];
+
+        final TemplateRenderCache cache = TemplateRenderCache.with(
+            100,
+            TIME_TO_LIVE,
+            () -> now[0]
+        );
+
+        this.renderToStringAndCheck(cache, Maps.of(NAME1, "World"), "Hello World");
+
+        now[0] = TIME_TO_LIVE;
+
+        this.renderToStringAndCheck(cache, Maps.of(NAME1, "World"), "Hello World");
+
+        this.checkEquals(0L, cache.hits(), "hits");
+        this.checkEquals(2L, cache.misses(), "misses");
+        this.checkEquals(1L, cache.expirations(), "expirations");
+        this.checkEquals(1, cache.size(), "size");
+    }
+
+    @Test
+    public void testRenderToStringEvicts() {
+        // each entry is "111" + "Hello 111" = 12 characters
+        final TemplateRenderCache cache = TemplateRenderCache.with(
+            30,
+            TIME_TO_LIVE,
+            () -> 0
+        );
+
+        this.renderToStringAndCheck(cache, Maps.of(NAME1, "111"), "Hello 111");
+        this.renderToStringAndCheck(cache, Maps.of(NAME1, "222"), "Hello 222");
+        this.renderToStringAndCheck(cache, Maps.of(NAME1, "111"), "Hello 111"); // hit, 111 most recently used
+        this.renderToStringAndCheck(cache, Maps.of(NAME1, "333"), "Hello 333"); // evicts 222
+
+        this.checkEquals(1L, cache.evictions(), "evictions");
+        this.checkEquals(2, cache.size(), "size");
+        this.checkEquals(24L, cache.characters(), "characters");
+
+        this.renderToStringAndCheck(cache, Maps.of(NAME1, "111"), "Hello 111");
+        this.checkEquals(2L, cache.hits(), "hits");
+    }
+
+    @Test
+    public void testRenderToStringKeyedByTemplateValueKey() {
+        final TemplateRenderCache cache = TemplateRenderCache.with(
+            100,
+            TIME_TO_LIVE,
+            () -> 0
+        );
+
+        final String[] value = new String[]{
+            "World"
+        };
+        final TemplateContext context = new FakeTemplateContext() {
+            @Override
+            public String templateValue(final TemplateValueName name) {
+                return value[0];
+            }
+
+            @Override
+            public Object templateValueKey(final TemplateValueName name) {
+                return "key";
+            }
+        };
+
+        this.checkEquals(
+            "Hello World",
+            cache.renderToString(
+                TEMPLATE,
+                LineEnding.NL,
+                context
+            )
+        );
+
+        value[0] = "Moon";
+
+        this.checkEquals(
+            "Hello World",
+            cache.renderToString(
+                TEMPLATE,
+                LineEnding.NL,
+                context
+            )
+        );
+        this.checkEquals(1L, cache.hits(), "hits");
+    }
+
+    @Test
+    public void testRenderToStringExpression() {
+        final TemplateRenderCache cache = TemplateRenderCache.with(
+            100,
+            TIME_TO_LIVE,
+            () -> 0
+        );
+
+        final Template template = Templates.expression(
+            Expression.value("Hello")
+        );
+
+        final TemplateContext context = new FakeTemplateContext() {
+            @Override
+            public String evaluateAsString(final Expression expression) {
+                return ((ValueExpression) expression).value()
+                    .toString();
+            }
+        };
+
+        this.checkEquals(
+            "Hello",
+            cache.renderToString(
+                template,
+                LineEnding.NL,
+                context
+            )
+        );
+        this.checkEquals(
+            "Hello",
+            cache.renderToString(
+                template,
+                LineEnding.NL,
+                context
+            )
+        );
+        this.checkEquals(1L, cache.hits(), "hits");
+    }
+
+    @Test
+    public void testClear() {
+        final TemplateRenderCache cache = TemplateRenderCache.with(
+            100,
+            TIME_TO_LIVE,
+            () -> 0
+        );
+
+        this.renderToStringAndCheck(cache, Maps.of(NAME1, "World"), "Hello World");
+        cache.clear();
+
+        this.checkEquals(0, cache.size(), "size");
+        this.checkEquals(0L, cache.characters(), "characters");
+    }
+
+    private void renderToStringAndCheck(final TemplateRenderCache cache,
+                                        final Map<TemplateValueName, String> values,
+                                        final String expected) {
+        final Function<TemplateValueName, String> templateValues = values::get;
+
+        this.checkEquals(
+            expected,
+            cache.renderToString(
+                TEMPLATE,
+                LineEnding.NL,
+                TemplateContexts.renderOnly(templateValues)
+            )
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateRenderCache> type() {
+        return TemplateRenderCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
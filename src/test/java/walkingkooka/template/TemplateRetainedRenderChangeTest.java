@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class TemplateRetainedRenderChangeTest implements ClassTesting<TemplateRetainedRenderChange>,
+    HashCodeEqualsDefinedTesting2<TemplateRetainedRenderChange>,
+    ToStringTesting<TemplateRetainedRenderChange> {
+
+    private final static int OFFSET = 1;
+
+    private final static int LENGTH = 2;
+
+    private final static String TEXT = "Hello";
+
+    @Test
+    public void testWith() {
+        final TemplateRetainedRenderChange change = this.createObject();
+
+        this.checkEquals(
+            OFFSET,
+            change.offset(),
+            "offset"
+        );
+        this.checkEquals(
+            LENGTH,
+            change.length(),
+            "length"
+        );
+        this.checkEquals(
+            TEXT,
+            change.text(),
+            "text"
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentOffset() {
+        this.checkNotEquals(
+            TemplateRetainedRenderChange.with(
+                99,
+                LENGTH,
+                TEXT
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentLength() {
+        this.checkNotEquals(
+            TemplateRetainedRenderChange.with(
+                OFFSET,
+                99,
+                TEXT
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentText() {
+        this.checkNotEquals(
+            TemplateRetainedRenderChange.with(
+                OFFSET,
+                LENGTH,
+                "Different"
+            )
+        );
+    }
+
+    @Override
+    public TemplateRetainedRenderChange createObject() {
+        return TemplateRetainedRenderChange.with(
+            OFFSET,
+            LENGTH,
+            TEXT
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "1 2 \"Hello\""
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateRetainedRenderChange> type() {
+        return TemplateRetainedRenderChange.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateRetainedRenderTest implements ClassTesting<TemplateRetainedRender>,
+    ToStringTesting<TemplateRetainedRender> {
+
+    private final static TemplateValueName NAME1 = TemplateValueName.with("name1");
+
+    private final static TemplateValueName NAME2 = TemplateValueName.with("name2");
+
+    private final static TemplateValueName NAME3 = TemplateValueName.with("name3");
+
+    private final static Template TEMPLATE = Templates.collection(
+        Lists.of(
+            Templates.string("A"),
+            Templates.templateValueName(NAME1),
+            Templates.string("B"),
+            Templates.templateValueName(NAME2),
+            Templates.string("C"),
+            Templates.templateValueName(NAME1)
+        )
+    );
+
+    private final static Function<TemplateValueName, Template> NAME_TO_TEMPLATE = (n) -> null;
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullTemplateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateRetainedRender.with(
+                null,
+                NAME_TO_TEMPLATE,
+                LineEnding.NL
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullNameToTemplateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateRetainedRender.with(
+                TEMPLATE,
+                null,
+                LineEnding.NL
+            )
+        );
+    }
+
+    @Test
+    public void testWithCycleFails() {
+        assertThrows(
+            IllegalStateException.class,
+            () -> TemplateRetainedRender.with(
+                TEMPLATE,
+                (n) -> Templates.templateValueName(n),
+                LineEnding.NL
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullLineEndingFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateRetainedRender.with(
+                TEMPLATE,
+                NAME_TO_TEMPLATE,
+                null
+            )
+        );
+    }
+
+    // text.............................................................................................................
+
+    @Test
+    public void testTextBeforeRenderFails() {
+        assertThrows(
+            IllegalStateException.class,
+            () -> TemplateRetainedRender.with(
+                TEMPLATE,
+                NAME_TO_TEMPLATE,
+                LineEnding.NL
+            ).text()
+        );
+    }
+
+    // update...........................................................................................................
+
+    @Test
+    public void testUpdateBeforeRenderFails() {
+        assertThrows(
+            IllegalStateException.class,
+            () -> TemplateRetainedRender.with(
+                TEMPLATE,
+                NAME_TO_TEMPLATE,
+                LineEnding.NL
+            ).update(
+                Set.of(NAME1),
+                TemplateContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testRenderAndUpdate() {
+        final Map<TemplateValueName, String> values = Maps.sorted();
+        values.put(NAME1, "1");
+        values.put(NAME2, "2");
+        values.put(NAME3, "3");
+
+        final Map<TemplateValueName, Integer> fetches = Maps.sorted();
+
+        final TemplateContext context = TemplateContexts.renderOnly(
+            (n) -> {
+                fetches.merge(n, 1, Integer::sum);
+                return values.get(n);
+            }
+        );
+
+        final TemplateRetainedRender retained = TemplateRetainedRender.with(
+            TEMPLATE,
+            NAME_TO_TEMPLATE,
+            LineEnding.NL
+        );
+
+        this.checkEquals(
+            "A1B2C1",
+            retained.render(context)
+        );
+
+        values.put(NAME1, "111");
+        fetches.clear();
+
+        this.checkEquals(
+            Lists.of(
+                TemplateRetainedRenderChange.with(1, 1, "111"),
+                TemplateRetainedRenderChange.with(7, 1, "111")
+            ),
+            retained.update(
+                Set.of(NAME1),
+                context
+            )
+        );
+        this.checkEquals(
+            "A111B2C111",
+            retained.text()
+        );
+        this.checkEquals(
+            Maps.of(NAME1, 2),
+            fetches
+        );
+
+        values.put(NAME2, "");
+        values.put(NAME3, "333");
+        fetches.clear();
+
+        this.checkEquals(
+            Lists.of(
+                TemplateRetainedRenderChange.with(5, 1, "")
+            ),
+            retained.update(
+                Set.of(NAME2, NAME3),
+                context
+            )
+        );
+        this.checkEquals(
+            "A111BC111",
+            retained.text()
+        );
+        this.checkEquals(
+            Maps.of(NAME2, 1),
+            fetches
+        );
+    }
+
+    @Test
+    public void testUpdateSameValues() {
+        final TemplateContext context = TemplateContexts.renderOnly((n) -> "1");
+
+        final TemplateRetainedRender retained = TemplateRetainedRender.with(
+            TEMPLATE,
+            NAME_TO_TEMPLATE,
+            LineEnding.NL
+        );
+        retained.render(context);
+
+        this.checkEquals(
+            Lists.empty(),
+            retained.update(
+                Set.of(NAME1),
+                context
+            )
+        );
+        this.checkEquals(
+            "A1B1C1",
+            retained.text()
+        );
+    }
+
+    @Test
+    public void testRenderAndUpdateNotCollection() {
+        final TemplateRetainedRender retained = TemplateRetainedRender.with(
+            Templates.templateValueName(NAME1),
+            NAME_TO_TEMPLATE,
+            LineEnding.NL
+        );
+
+        this.checkEquals(
+            "1",
+            retained.render(
+                TemplateContexts.renderOnly((n) -> "1")
+            )
+        );
+        this.checkEquals(
+            Lists.of(
+                TemplateRetainedRenderChange.with(0, 1, "22")
+            ),
+            retained.update(
+                Set.of(NAME1),
+                TemplateContexts.renderOnly((n) -> "22")
+            )
+        );
+        this.checkEquals(
+            "22",
+            retained.text()
+        );
+    }
+
+    @Test
+    public void testRenderAndUpdateWithSubTemplate() {
+        final TemplateValueName footer = TemplateValueName.with("footer");
+        final TemplateValueName year = TemplateValueName.with("year");
+
+        final Map<TemplateValueName, Template> nameToTemplate = Maps.sorted();
+        nameToTemplate.put(
+            NAME1,
+            Templates.string("Body")
+        );
+        nameToTemplate.put(
+            footer,
+            Templates.collection(
+                Lists.of(
+                    Templates.string("(c) "),
+                    Templates.templateValueName(year)
+                )
+            )
+        );
+        nameToTemplate.put(
+            year,
+            Templates.string("2025")
+        );
+
+        final TemplateContext context = TemplateContexts.basic(
+            (t) -> {
+                throw new UnsupportedOperationException();
+            },
+            nameToTemplate::get,
+            LineEnding.NL,
+            BasicTemplateContextTest.EXPRESSION_EVALUATION_CONTEXT
+        );
+
+        final TemplateRetainedRender retained = TemplateRetainedRender.with(
+            Templates.collection(
+                Lists.of(
+                    Templates.templateValueName(NAME1),
+                    Templates.string(" "),
+                    Templates.templateValueName(footer)
+                )
+            ),
+            nameToTemplate::get,
+            LineEnding.NL
+        );
+
+        this.checkEquals(
+            "Body (c) 2025",
+            retained.render(context)
+        );
+
+        nameToTemplate.put(
+            year,
+            Templates.string("2026")
+        );
+
+        this.checkEquals(
+            Lists.of(
+                TemplateRetainedRenderChange.with(5, 8, "(c) 2026")
+            ),
+            retained.update(
+                Set.of(year),
+                context
+            )
+        );
+        this.checkEquals(
+            "Body (c) 2026",
+            retained.text()
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            TemplateRetainedRender.with(
+                TEMPLATE,
+                NAME_TO_TEMPLATE,
+                LineEnding.NL
+            ),
+            TEMPLATE.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateRetainedRender> type() {
+        return TemplateRetainedRender.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
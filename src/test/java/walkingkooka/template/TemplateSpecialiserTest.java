@@ -0,0 +1,361 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionEvaluationContexts;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateSpecialiserTest implements TemplateTesting,
+    ClassTesting<TemplateSpecialiser> {
+
+    private final static TemplateValueName BRAND = TemplateValueName.with("brand");
+
+    private final static TemplateValueName SUPPORT = TemplateValueName.with("support");
+
+    private final static TemplateValueName USER = TemplateValueName.with("user");
+
+    private final static Map<TemplateValueName, String> KNOWN = Maps.of(
+        BRAND,
+        "Brand1",
+        SUPPORT,
+        "support@example.com"
+    );
+
+    @Test
+    public void testSpecialiseWithNullTemplateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateSpecialiser.specialise(
+                null,
+                KNOWN
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseWithNullKnownValuesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateSpecialiser.specialise(
+                Templates.string("Hello"),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseString() {
+        final Template template = Templates.string("Hello");
+
+        assertSame(
+            template,
+            TemplateSpecialiser.specialise(
+                template,
+                KNOWN
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseUnknownTemplateValueName() {
+        final Template template = Templates.templateValueName(USER);
+
+        assertSame(
+            template,
+            TemplateSpecialiser.specialise(
+                template,
+                KNOWN
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseKnownTemplateValueName() {
+        this.checkEquals(
+            Templates.string("Brand1"),
+            TemplateSpecialiser.specialise(
+                Templates.templateValueName(BRAND),
+                KNOWN
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseStringExpression() {
+        this.checkEquals(
+            Templates.string("Constant1"),
+            TemplateSpecialiser.specialise(
+                Templates.expression(
+                    Expression.value("Constant1")
+                ),
+                KNOWN
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseOtherExpression() {
+        final Template template = Templates.expression(
+            Expression.add(
+                Expression.value(1),
+                Expression.value(2)
+            )
+        );
+
+        assertSame(
+            template,
+            TemplateSpecialiser.specialise(
+                template,
+                KNOWN
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseExpressionUnknownReference() {
+        final Template template = Templates.expression(
+            Expression.reference(USER)
+        );
+
+        assertSame(
+            template,
+            TemplateSpecialiser.specialise(
+                template,
+                KNOWN
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseExpressionKnownReference() {
+        this.checkEquals(
+            Templates.string("Brand1"),
+            TemplateSpecialiser.specialise(
+                Templates.expression(
+                    Expression.reference(BRAND)
+                ),
+                KNOWN
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseExpressionWithKnownAndUnknownReferences() {
+        final Template residual = TemplateSpecialiser.specialise(
+            Templates.expression(
+                Expression.add(
+                    Expression.reference(BRAND),
+                    Expression.reference(USER)
+                )
+            ),
+            KNOWN
+        );
+
+        this.checkEquals(
+            Templates.expression(
+                Expression.add(
+                    Expression.value("Brand1"),
+                    Expression.reference(USER)
+                )
+            ),
+            residual
+        );
+
+        this.templateValueNamesAndCheck(
+            residual,
+            USER
+        );
+    }
+
+    @Test
+    public void testSpecialiseExpressionWithOnlyKnownReferences() {
+        final Template residual = TemplateSpecialiser.specialise(
+            Templates.expression(
+                Expression.add(
+                    Expression.reference(BRAND),
+                    Expression.reference(SUPPORT)
+                )
+            ),
+            KNOWN
+        );
+
+        this.checkEquals(
+            Templates.expression(
+                Expression.add(
+                    Expression.value("Brand1"),
+                    Expression.value("support@example.com")
+                )
+            ),
+            residual
+        );
+
+        this.templateValueNamesAndCheck(residual);
+    }
+
+    @Test
+    public void testSpecialiseCollectionMergesText() {
+        final Template residual = TemplateSpecialiser.specialise(
+            Templates.collection(
+                Lists.of(
+                    Templates.string("Welcome to "),
+                    Templates.templateValueName(BRAND),
+                    Templates.string(" "),
+                    Templates.templateValueName(USER),
+                    Templates.string(", contact "),
+                    Templates.templateValueName(SUPPORT)
+                )
+            ),
+            KNOWN
+        );
+
+        this.checkEquals(
+            Templates.collection(
+                Lists.of(
+                    Templates.string("Welcome to Brand1 "),
+                    Templates.templateValueName(USER),
+                    Templates.string(", contact support@example.com")
+                )
+            ),
+            residual
+        );
+
+        this.templateValueNamesAndCheck(
+            residual,
+            USER
+        );
+    }
+
+    @Test
+    public void testSpecialiseCollectionAllKnown() {
+        this.checkEquals(
+            Templates.string("Brand1 support@example.com"),
+            TemplateSpecialiser.specialise(
+                Templates.collection(
+                    Lists.of(
+                        Templates.templateValueName(BRAND),
+                        Templates.string(" "),
+                        Templates.templateValueName(SUPPORT)
+                    )
+                ),
+                KNOWN
+            )
+        );
+    }
+
+    // specialise with ExpressionEvaluationContext.......................................................................
+
+    @Test
+    public void testSpecialiseWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateSpecialiser.specialise(
+                Templates.string("Hello"),
+                KNOWN,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseWithContextEvaluatesExpressionWithoutReferences() {
+        this.checkEquals(
+            Templates.string("3"),
+            TemplateSpecialiser.specialise(
+                Templates.expression(
+                    Expression.add(
+                        Expression.value(1),
+                        Expression.value(2)
+                    )
+                ),
+                KNOWN,
+                BasicTemplateContextTest.EXPRESSION_EVALUATION_CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseWithContextUnknownReferenceNotEvaluated() {
+        final Template template = Templates.expression(
+            Expression.add(
+                Expression.reference(USER),
+                Expression.value(1)
+            )
+        );
+
+        assertSame(
+            template,
+            TemplateSpecialiser.specialise(
+                template,
+                KNOWN,
+                ExpressionEvaluationContexts.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testSpecialiseWithContextCollection() {
+        this.checkEquals(
+            Templates.collection(
+                Lists.of(
+                    Templates.string("Brand1 3 "),
+                    Templates.templateValueName(USER)
+                )
+            ),
+            TemplateSpecialiser.specialise(
+                Templates.collection(
+                    Lists.of(
+                        Templates.templateValueName(BRAND),
+                        Templates.string(" "),
+                        Templates.expression(
+                            Expression.add(
+                                Expression.value(1),
+                                Expression.value(2)
+                            )
+                        ),
+                        Templates.string(" "),
+                        Templates.templateValueName(USER)
+                    )
+                ),
+                KNOWN,
+                BasicTemplateContextTest.EXPRESSION_EVALUATION_CONTEXT
+            )
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateSpecialiser> type() {
+        return TemplateSpecialiser.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
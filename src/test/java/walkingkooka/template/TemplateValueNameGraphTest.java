@@ -0,0 +1,283 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.LineEnding;
+import walkingkooka.tree.expression.Expression;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateValueNameGraphTest implements ClassTesting<TemplateValueNameGraph> {
+
+    private final static TemplateValueName A = TemplateValueName.with("a");
+
+    private final static TemplateValueName B = TemplateValueName.with("b");
+
+    private final static TemplateValueName C = TemplateValueName.with("c");
+
+    private final static TemplateValueName D = TemplateValueName.with("d");
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullRootFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateValueNameGraph.with(
+                null,
+                (n) -> null
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullNameToTemplateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateValueNameGraph.with(
+                Templates.string("Hello"),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithoutNames() {
+        final TemplateValueNameGraph graph = TemplateValueNameGraph.with(
+            Templates.string("Hello"),
+            (n) -> {
+                throw new UnsupportedOperationException();
+            }
+        );
+
+        this.checkEquals(0, graph.maxDepth());
+        this.checkEquals(true, graph.isAcyclic());
+        this.checkEquals(Lists.empty(), graph.topologicalOrder());
+        this.checkEquals(Set.of(), graph.values());
+    }
+
+    @Test
+    public void testAcyclic() {
+        // a -> b, c
+        // b -> c, d
+        final TemplateValueNameGraph graph = TemplateValueNameGraph.with(
+            Templates.templateValueName(A),
+            Maps.of(
+                A,
+                collection(B, C),
+                B,
+                Templates.expression(
+                    Expression.add(
+                        Expression.reference(C),
+                        Expression.reference(D)
+                    )
+                )
+            )::get
+        );
+
+        this.checkEquals(true, graph.isAcyclic());
+        graph.failIfCycles();
+
+        this.checkEquals(
+            Set.of(C, D),
+            graph.values()
+        );
+        this.checkEquals(
+            Set.of(A, B),
+            graph.templates()
+                .keySet()
+        );
+        this.checkEquals(
+            Maps.of(
+                A, Set.of(B, C),
+                B, Set.of(C, D),
+                C, Set.of(),
+                D, Set.of()
+            ),
+            graph.dependencies()
+        );
+        this.checkEquals(
+            3,
+            graph.maxDepth()
+        );
+        this.checkEquals(
+            Lists.of(C, D, B, A),
+            graph.topologicalOrder()
+        );
+    }
+
+    @Test
+    public void testCycles() {
+        // a -> b -> c -> a
+        final Map<TemplateValueName, Template> nameToTemplate = Maps.of(
+            A,
+            collection(B),
+            B,
+            collection(C),
+            C,
+            collection(A, D)
+        );
+
+        final TemplateValueNameGraph graph = TemplateValueNameGraph.with(
+            Templates.templateValueName(A),
+            nameToTemplate::get
+        );
+
+        this.checkEquals(false, graph.isAcyclic());
+        this.checkEquals(
+            Lists.of(
+                Lists.of(A, B, C, A)
+            ),
+            graph.cycles()
+        );
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            graph::topologicalOrder
+        );
+        this.checkEquals(
+            "Cycle detected \"a\" -> \"b\" -> \"c\" -> \"a\"",
+            thrown.getMessage()
+        );
+    }
+
+    // link.............................................................................................................
+
+    @Test
+    public void testLink() {
+        // a -> "<" b ">"
+        // b -> c
+        final Map<TemplateValueName, Template> nameToTemplate = Maps.of(
+            A,
+            Templates.collection(
+                Lists.of(
+                    Templates.string("<"),
+                    Templates.templateValueName(B),
+                    Templates.string(">")
+                )
+            ),
+            B,
+            Templates.templateValueName(C)
+        );
+
+        final Template linked = TemplateValueNameGraph.with(
+            Templates.collection(
+                Lists.of(
+                    Templates.templateValueName(A),
+                    Templates.string(" "),
+                    Templates.templateValueName(B)
+                )
+            ),
+            nameToTemplate::get
+        ).link();
+
+        this.checkEquals(
+            Templates.collection(
+                Lists.of(
+                    Templates.string("<"),
+                    Templates.templateValueName(C),
+                    Templates.string(">"),
+                    Templates.string(" "),
+                    Templates.templateValueName(C)
+                )
+            ),
+            linked
+        );
+
+        this.checkEquals(
+            "<CCC> CCC",
+            linked.renderToString(
+                LineEnding.NL,
+                TemplateContexts.renderOnly(
+                    (n) -> {
+                        this.checkEquals(C, n);
+                        return "CCC";
+                    }
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testLinkWithoutNames() {
+        final Template root = Templates.string("Hello");
+
+        assertSame(
+            root,
+            Templates.link(
+                root,
+                (n) -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testLinkCycleFails() {
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> Templates.link(
+                Templates.templateValueName(A),
+                Maps.of(
+                    A,
+                    collection(B),
+                    B,
+                    collection(A)
+                )::get
+            )
+        );
+
+        this.checkEquals(
+            "Cycle detected \"a\" -> \"b\" -> \"a\"",
+            thrown.getMessage()
+        );
+    }
+
+    private static Template collection(final TemplateValueName... names) {
+        final List<Template> templates = Lists.array();
+        for (final TemplateValueName name : names) {
+            templates.add(
+                Templates.templateValueName(name)
+            );
+        }
+        return Templates.collection(templates);
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateValueNameGraph> type() {
+        return TemplateValueNameGraph.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateValueNameSetTest implements ClassTesting<TemplateValueNameSet> {
+
+    private final static TemplateValueName NAME1 = TemplateValueName.with("name1");
+
+    private final static TemplateValueName NAME2 = TemplateValueName.with("name2");
+
+    private final static TemplateValueName NAME3 = TemplateValueName.with("name3");
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TemplateValueNameSet.with(null)
+        );
+    }
+
+    @Test
+    public void testWithEmpty() {
+        assertSame(
+            TemplateValueNameSet.EMPTY,
+            TemplateValueNameSet.with(
+                Lists.empty()
+            )
+        );
+    }
+
+    @Test
+    public void testWithTemplateValueNameSet() {
+        final TemplateValueNameSet set = TemplateValueNameSet.of(NAME1);
+
+        assertSame(
+            set,
+            TemplateValueNameSet.with(set)
+        );
+    }
+
+    @Test
+    public void testWithSortsAndRemovesDuplicates() {
+        final TemplateValueNameSet set = TemplateValueNameSet.with(
+            Lists.of(
+                NAME3,
+                NAME1,
+                NAME3,
+                NAME2,
+                NAME1
+            )
+        );
+
+        this.checkEquals(
+            Sets.of(
+                NAME1,
+                NAME2,
+                NAME3
+            ),
+            set
+        );
+
+        final Iterator<TemplateValueName> iterator = set.iterator();
+        this.checkEquals(NAME1, iterator.next());
+        this.checkEquals(NAME2, iterator.next());
+        this.checkEquals(NAME3, iterator.next());
+        this.checkEquals(false, iterator.hasNext());
+    }
+
+    // contains.........................................................................................................
+
+    @Test
+    public void testContains() {
+        final TemplateValueNameSet set = TemplateValueNameSet.with(
+            Lists.of(
+                NAME1,
+                NAME3
+            )
+        );
+
+        this.checkEquals(true, set.contains(NAME1));
+        this.checkEquals(false, set.contains(NAME2));
+        this.checkEquals(true, set.contains(NAME3));
+        this.checkEquals(false, set.contains("name1"));
+    }
+
+    // indexOf..........................................................................................................
+
+    @Test
+    public void testIndexOf() {
+        final TemplateValueNameSet set = TemplateValueNameSet.with(
+            Lists.of(
+                NAME3,
+                NAME1
+            )
+        );
+
+        this.checkEquals(0, set.indexOf(NAME1));
+        this.checkEquals(1, set.indexOf(NAME3));
+        this.checkEquals(true, set.indexOf(NAME2) < 0);
+    }
+
+    // immutable........................................................................................................
+
+    @Test
+    public void testAddFails() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> TemplateValueNameSet.of(NAME1)
+                .add(NAME2)
+        );
+    }
+
+    @Test
+    public void testIteratorRemoveFails() {
+        final Iterator<TemplateValueName> iterator = TemplateValueNameSet.of(NAME1)
+            .iterator();
+        iterator.next();
+
+        assertThrows(
+            UnsupportedOperationException.class,
+            iterator::remove
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateValueNameSet> type() {
+        return TemplateValueNameSet.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
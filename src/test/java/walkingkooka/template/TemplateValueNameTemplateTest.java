@@ -19,10 +19,18 @@ package walkingkooka.template;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallingTesting;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-public final class TemplateValueNameTemplateTest implements TemplateTesting2<TemplateValueNameTemplate> {
+public final class TemplateValueNameTemplateTest implements TemplateTesting2<TemplateValueNameTemplate>,
+    JsonNodeMarshallingTesting<TemplateValueNameTemplate> {
+
+    static {
+        TemplateStartup.init();
+    }
 
     // with.............................................................................................................
 
@@ -110,6 +118,38 @@ public final class TemplateValueNameTemplateTest implements TemplateTesting2<Tem
         );
     }
 
+    // json.............................................................................................................
+
+    @Test
+    public void testMarshall() {
+        this.marshallAndCheck(
+            this.createJsonNodeMarshallingValue(),
+            JsonNode.string("Hello")
+        );
+    }
+
+    @Test
+    public void testUnmarshall() {
+        this.unmarshallAndCheck(
+            JsonNode.string("Hello"),
+            this.createJsonNodeMarshallingValue()
+        );
+    }
+
+    @Override
+    public TemplateValueNameTemplate unmarshall(final JsonNode json,
+                                                final JsonNodeUnmarshallContext context) {
+        return TemplateJson.unmarshallTemplateValueNameTemplate(
+            json,
+            context
+        );
+    }
+
+    @Override
+    public TemplateValueNameTemplate createJsonNodeMarshallingValue() {
+        return this.createTemplate();
+    }
+
     // class............................................................................................................
 
     @Override
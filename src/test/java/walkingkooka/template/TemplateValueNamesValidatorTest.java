@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.template;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.UrlPath;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.template.url.UrlPathTemplate;
+import walkingkooka.template.url.UrlPathTemplateValues;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TemplateValueNamesValidatorTest implements ClassTesting<TemplateValueNamesValidator>,
+    ToStringTesting<TemplateValueNamesValidator> {
+
+    private final static TemplateValueName NAME1 = TemplateValueName.with("name1");
+
+    private final static TemplateValueName NAME2 = TemplateValueName.with("name2");
+
+    private final static TemplateValueName NAME3 = TemplateValueName.with("name3");
+
+    // missing..........................................................................................................
+
+    @Test
+    public void testMissingWithNullMapFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createValidator()
+                .missing((Map<TemplateValueName, ?>) null)
+        );
+    }
+
+    @Test
+    public void testMissingWithNullUrlPathTemplateValuesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createValidator()
+                .missing((UrlPathTemplateValues) null)
+        );
+    }
+
+    @Test
+    public void testMissingNone() {
+        assertSame(
+            TemplateValueNameSet.EMPTY,
+            this.createValidator()
+                .missing(
+                    Maps.of(
+                        NAME1, "value1",
+                        NAME2, "value2",
+                        NAME3, "value3"
+                    )
+                )
+        );
+    }
+
+    @Test
+    public void testMissingSome() {
+        this.missingAndCheck(
+            Maps.of(
+                NAME2, "value2"
+            ),
+            NAME1,
+            NAME3
+        );
+    }
+
+    @Test
+    public void testMissingAll() {
+        this.missingAndCheck(
+            Maps.empty(),
+            NAME1,
+            NAME2,
+            NAME3
+        );
+    }
+
+    @Test
+    public void testMissingUrlPathTemplateValues() {
+        this.checkEquals(
+            Set.of(NAME2),
+            UrlPathTemplate.parse("/path1/${name1}/${name2}")
+                .templateValueNamesValidator()
+                .missing(
+                    UrlPathTemplate.parse("/path1/${name1}/${name2}")
+                        .tryPrepareValues(
+                            UrlPath.parse("/path1/111")
+                        ).get()
+                )
+        );
+    }
+
+    @Test
+    public void testMissingUrlPathTemplateValuesNone() {
+        assertSame(
+            TemplateValueNameSet.EMPTY,
+            UrlPathTemplate.parse("/path1/${name1}/${name2}")
+                .templateValueNamesValidator()
+                .missing(
+                    UrlPathTemplate.parse("/path1/${name1}/${name2}")
+                        .tryPrepareValues(
+                            UrlPath.parse("/path1/111/222")
+                        ).get()
+                )
+        );
+    }
+
+    private void missingAndCheck(final Map<TemplateValueName, ?> values,
+                                 final TemplateValueName... expected) {
+        this.checkEquals(
+            Set.of(expected),
+            this.createValidator()
+                .missing(values)
+        );
+    }
+
+    // failIfMissing....................................................................................................
+
+    @Test
+    public void testFailIfMissing() {
+        this.createValidator()
+            .failIfMissing(
+                Maps.of(
+                    NAME1, "value1",
+                    NAME2, "value2",
+                    NAME3, "value3"
+                )
+            );
+    }
+
+    @Test
+    public void testFailIfMissingFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createValidator()
+                .failIfMissing(
+                    Maps.of(
+                        NAME2, "value2"
+                    )
+                )
+        );
+
+        this.checkEquals(
+            "Missing values for name1, name3",
+            thrown.getMessage()
+        );
+    }
+
+    private TemplateValueNamesValidator createValidator() {
+        return Templates.collection(
+            Lists.of(
+                Templates.templateValueName(NAME3),
+                Templates.string(" "),
+                Templates.templateValueName(NAME1),
+                Templates.string(" "),
+                Templates.templateValueName(NAME2)
+            )
+        ).templateValueNamesValidator();
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createValidator(),
+            "[name1, name2, name3]"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<TemplateValueNamesValidator> type() {
+        return TemplateValueNamesValidator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
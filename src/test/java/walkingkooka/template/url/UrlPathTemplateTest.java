@@ -27,10 +27,14 @@ import walkingkooka.template.FakeTemplateContext;
 import walkingkooka.template.Template;
 import walkingkooka.template.TemplateContext;
 import walkingkooka.template.TemplateContexts;
+import walkingkooka.template.TemplateStartup;
 import walkingkooka.template.TemplateTesting2;
 import walkingkooka.template.TemplateValueName;
 import walkingkooka.template.Templates;
 import walkingkooka.test.ParseStringTesting;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallingTesting;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
 import java.util.Map;
 import java.util.Optional;
@@ -40,7 +44,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class UrlPathTemplateTest implements TemplateTesting2<UrlPathTemplate>,
     ParseStringTesting<UrlPathTemplate>,
-    HashCodeEqualsDefinedTesting2<UrlPathTemplate> {
+    HashCodeEqualsDefinedTesting2<UrlPathTemplate>,
+    JsonNodeMarshallingTesting<UrlPathTemplate> {
+
+    static {
+        TemplateStartup.init();
+    }
 
     // parseString......................................................................................................
 
@@ -271,6 +280,38 @@ public final class UrlPathTemplateTest implements TemplateTesting2<UrlPathTempla
         return UrlPathTemplate.parse(text);
     }
 
+    // json.............................................................................................................
+
+    @Test
+    public void testMarshall() {
+        this.marshallAndCheck(
+            this.createJsonNodeMarshallingValue(),
+            JsonNode.string("/api/${abc}/def")
+        );
+    }
+
+    @Test
+    public void testUnmarshall() {
+        this.unmarshallAndCheck(
+            JsonNode.string("/api/${abc}/def"),
+            this.createJsonNodeMarshallingValue()
+        );
+    }
+
+    @Override
+    public UrlPathTemplate unmarshall(final JsonNode json,
+                                      final JsonNodeUnmarshallContext context) {
+        return context.unmarshall(
+            json,
+            UrlPathTemplate.class
+        );
+    }
+
+    @Override
+    public UrlPathTemplate createJsonNodeMarshallingValue() {
+        return UrlPathTemplate.parse("/api/${abc}/def");
+    }
+
     @Override
     public Class<? extends RuntimeException> parseStringFailedExpected(final Class<? extends RuntimeException> thrown) {
         return thrown;
@@ -294,6 +294,100 @@ public final class UrlPathTemplateValuesTest implements TreePrintableTesting,
         );
     }
 
+    // contains.........................................................................................................
+
+    @Test
+    public void testContainsWithNullNameFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> UrlPathTemplate.parse("/${value1}")
+                .tryPrepareValues(UrlPath.parse("/111"))
+                .get()
+                .contains(null)
+        );
+    }
+
+    @Test
+    public void testContains() {
+        this.containsAndCheck(
+            "/${value1}/path2",
+            "/111/path2",
+            "value1",
+            true
+        );
+    }
+
+    @Test
+    public void testContainsLast() {
+        this.containsAndCheck(
+            "/path1/${value2}",
+            "/path1/222",
+            "value2",
+            true
+        );
+    }
+
+    @Test
+    public void testContainsUnknown() {
+        this.containsAndCheck(
+            "/${value1}/path2",
+            "/111/path2",
+            "unknown",
+            false
+        );
+    }
+
+    @Test
+    public void testContainsOptionalMissing() {
+        this.containsAndCheck(
+            "/path1/${value2}",
+            "/path1",
+            "value2",
+            false
+        );
+    }
+
+    @Test
+    public void testContainsAndGetPathEndsBeforeValue() {
+        final UrlPathTemplateValues values = UrlPathTemplate.parse("/path1/${value2}")
+            .tryPrepareValues(
+                UrlPath.parse("/path1")
+            ).get();
+        final TemplateValueName name = TemplateValueName.with("value2");
+
+        this.checkEquals(
+            false,
+            values.contains(name),
+            "contains"
+        );
+        this.checkEquals(
+            Optional.of(""),
+            values.get(
+                name,
+                (s) -> s
+            ),
+            "get"
+        );
+    }
+
+    private void containsAndCheck(final String template,
+                                  final String path,
+                                  final String name,
+                                  final boolean expected) {
+        this.checkEquals(
+            expected,
+            UrlPathTemplate.parse(template)
+                .tryPrepareValues(
+                    UrlPath.parse(path)
+                ).orElseThrow(
+                    () -> new IllegalArgumentException("template=" + template + " does not match, Path " + path)
+                ).contains(
+                    TemplateValueName.with(name)
+                ),
+            () -> "contains " + name + " template=" + template + " path=" + path
+        );
+    }
+
     private void getAndCheck(final String template,
                              final String path,
                              final String name) {